@@ -5,6 +5,7 @@ import javax.swing.UIManager.LookAndFeelInfo;
 import javax.swing.UnsupportedLookAndFeelException;
 
 import carcassonne.control.MainController;
+import carcassonne.view.AssetRegistry;
 import carcassonne.view.GameMessage;
 
 /**
@@ -34,6 +35,7 @@ public final class Carcassonne {
                 }
             }
         }
+        AssetRegistry.preload(); // decodes all images before the first frame is shown
         MainController controller = new MainController();
         controller.startGame();
     }
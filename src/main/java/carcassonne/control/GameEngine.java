@@ -0,0 +1,214 @@
+package carcassonne.control;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import carcassonne.model.Player;
+import carcassonne.model.Round;
+import carcassonne.model.ScoreLedger;
+import carcassonne.model.grid.CastleAndRoadPattern;
+import carcassonne.model.grid.FieldsPattern;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.grid.GridPattern;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.Tile;
+
+/**
+ * Headless engine that executes the actions of a round according to the rules, without any user interface. The states
+ * of the {@link MainController} use it to commit the actions of the players, and a round can be rebuilt by executing a
+ * recorded sequence of actions. Every committed action is reported to the registered {@link GameEventListener}s.
+ * @author Timur Saglam
+ */
+public class GameEngine {
+    private final List<GameEventListener> listeners;
+    private Round round;
+
+    /**
+     * Creates an engine without a round and without listeners.
+     */
+    public GameEngine() {
+        listeners = new ArrayList<>();
+    }
+
+    /**
+     * Registers a listener, which is notified about all committed actions.
+     * @param listener is the {@link GameEventListener} to register.
+     */
+    public void addListener(GameEventListener listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Removes a registered listener.
+     * @param listener is the {@link GameEventListener} to remove.
+     */
+    public void removeListener(GameEventListener listener) {
+        listeners.remove(listener);
+    }
+
+    /**
+     * Starts a new round by drawing its first tile.
+     * @param newRound is the new round, whose foundation is placed but whose first tile is not drawn yet.
+     */
+    public void startRound(Round newRound) {
+        round = newRound;
+        round.nextTurn(); // first tile is drawn, player one is active.
+        listeners.forEach(it -> it.roundStarted(round));
+    }
+
+    /**
+     * Resumes a round that was restored at the start of a turn, e.g. of a saved game. A restored round that is already
+     * over can only be finished.
+     * @param restoredRound is the restored round, whose current tile is drawn but not placed.
+     */
+    public void resumeRound(Round restoredRound) {
+        round = restoredRound;
+        if (!round.isOver()) {
+            listeners.forEach(it -> it.roundStarted(round));
+        }
+    }
+
+    /**
+     * Removes the round from the engine without notifying the listeners, e.g. to release its memory while it is stored
+     * in serialized form. It can be resumed later with {@link #resumeRound(Round)}.
+     */
+    public void releaseRound() {
+        round = null;
+    }
+
+    /**
+     * Getter for the round of the engine.
+     * @return the current round, or null if no round was started.
+     */
+    public Round getRound() {
+        return round;
+    }
+
+    /**
+     * Places the current tile on a specific position of the grid, with its current rotation.
+     * @param x is the x coordinate.
+     * @param y is the y coordinate.
+     * @return true if the tile was placed, false if the placement is not allowed.
+     */
+    public boolean placeTile(int x, int y) {
+        Tile tile = round.getCurrentTile();
+        if (round.getGrid().place(x, y, tile)) {
+            listeners.forEach(it -> it.tilePlaced(tile, x, y));
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the active player may place a meeple on a specific position of the placed current tile.
+     * @param position is the position on the current tile.
+     * @return true if a meeple can be placed.
+     */
+    public boolean isPlaceable(GridDirection position) {
+        Tile tile = round.getCurrentTile();
+        TerrainType terrain = tile.getTerrain(position);
+        boolean placeable = false;
+        if (terrain == TerrainType.OTHER) {
+            placeable = false; // you can never place on terrain other
+        } else if (terrain == TerrainType.MONASTERY) {
+            placeable = true; // you can always place on a monastery
+        } else {
+            Grid grid = round.getGrid();
+            GridPattern pattern;
+            if (terrain == TerrainType.FIELDS) {
+                pattern = new FieldsPattern(tile.getGridSpot(), position, grid);
+            } else { // castle or road:
+                pattern = new CastleAndRoadPattern(tile.getGridSpot(), position, terrain, grid);
+            }
+            if (pattern.isNotOccupied() || pattern.isOccupiedBy(round.getActivePlayer())) {
+                placeable = true; // can place meeple
+            }
+            pattern.removeTileTags();
+        }
+        return placeable;
+    }
+
+    /**
+     * Places a meeple of the active player on the placed current tile. The placement must be checked with
+     * {@link #isPlaceable(GridDirection)} beforehand.
+     * @param position is the position on the current tile.
+     */
+    public void placeMeeple(GridDirection position) {
+        Tile tile = round.getCurrentTile();
+        Player player = round.getActivePlayer();
+        if (!player.hasFreeMeeples() || !tile.isPlaced()) {
+            throw new IllegalStateException("Player " + player + " can not place a meeple on " + tile);
+        }
+        tile.placeMeeple(player, position);
+        listeners.forEach(it -> it.meeplePlaced(tile, position, player));
+    }
+
+    /**
+     * Skips the current tile, which is put back under the tile stack. The turn needs to be ended afterwards.
+     */
+    public void skipTile() {
+        Tile tile = round.getCurrentTile();
+        round.skipCurrentTile();
+        listeners.forEach(it -> it.tileSkipped(tile));
+    }
+
+    /**
+     * Returns the patterns that are completed by the placed current tile, which are scored at the end of the turn.
+     * @return the list of completed patterns, which is empty if the current tile is not placed.
+     */
+    public List<GridPattern> getCompletedPatterns() {
+        List<GridPattern> completedPatterns = new ArrayList<>();
+        Tile tile = round.getCurrentTile();
+        if (tile.isPlaced()) {
+            for (GridPattern pattern : round.getGrid().getModifiedPatterns(tile.getGridSpot())) {
+                if (pattern.isComplete()) {
+                    completedPatterns.add(pattern);
+                }
+            }
+        }
+        return completedPatterns;
+    }
+
+    /**
+     * Ends the current turn. The completed patterns are scored and the next turn is started if the round is not over.
+     * @return true if the next turn was started, false if the round is over.
+     */
+    public boolean endTurn() {
+        int firstEvent = round.getScoreLedger().getEventCount();
+        for (GridPattern pattern : getCompletedPatterns()) {
+            pattern.disburse();
+        }
+        notifyScores(firstEvent);
+        listeners.forEach(it -> it.turnEnded(round));
+        if (round.isOver()) {
+            return false;
+        }
+        round.nextTurn();
+        listeners.forEach(it -> it.tileDrawn(round.getCurrentTile(), round.getActivePlayer()));
+        return true;
+    }
+
+    /**
+     * Ends the round, which scores all incomplete patterns.
+     */
+    public void finishRound() {
+        int firstEvent = round.getScoreLedger().getEventCount();
+        for (GridPattern pattern : round.getGrid().getAllPatterns()) {
+            pattern.forceDisburse();
+        }
+        notifyScores(firstEvent);
+        listeners.forEach(it -> it.roundEnded(round));
+    }
+
+    // notifies the listeners about every score event of the ledger since a specific event.
+    private void notifyScores(int firstEvent) {
+        ScoreLedger ledger = round.getScoreLedger();
+        for (int event = firstEvent; event < ledger.getEventCount(); event++) {
+            Player player = round.getPlayer(ledger.getEventPlayer(event));
+            TerrainType terrain = ledger.getEventTerrain(event);
+            int amount = ledger.getEventAmount(event);
+            listeners.forEach(it -> it.patternScored(player, terrain, amount));
+        }
+    }
+}
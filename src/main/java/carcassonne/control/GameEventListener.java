@@ -0,0 +1,69 @@
+package carcassonne.control;
+
+import carcassonne.model.Player;
+import carcassonne.model.Round;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.Tile;
+
+/**
+ * Interface for the notification about the committed actions of a round, which are executed by the {@link GameEngine}.
+ * Listeners are notified on the thread that executes the action and must not modify the round.
+ * @author Timur Saglam
+ */
+public interface GameEventListener {
+    /**
+     * Notifies the listener that a round was started, loaded or recovered. The first tile of the round is already drawn.
+     * @param round is the round.
+     */
+    void roundStarted(Round round);
+
+    /**
+     * Notifies the listener that a new turn started and a tile was drawn.
+     * @param tile is the drawn tile.
+     * @param player is the player whose turn it is.
+     */
+    void tileDrawn(Tile tile, Player player);
+
+    /**
+     * Notifies the listener that the current tile was placed.
+     * @param tile is the placed tile, which determines the rotation.
+     * @param x is the x coordinate.
+     * @param y is the y coordinate.
+     */
+    void tilePlaced(Tile tile, int x, int y);
+
+    /**
+     * Notifies the listener that a meeple was placed on the current tile.
+     * @param tile is the tile of the meeple.
+     * @param position is the position on the tile.
+     * @param player is the owner of the meeple.
+     */
+    void meeplePlaced(Tile tile, GridDirection position, Player player);
+
+    /**
+     * Notifies the listener that the current tile was skipped.
+     * @param tile is the skipped tile.
+     */
+    void tileSkipped(Tile tile);
+
+    /**
+     * Notifies the listener that a player scored points for a pattern.
+     * @param player is the player who scored.
+     * @param terrain is the terrain of the pattern.
+     * @param amount is the amount of points.
+     */
+    void patternScored(Player player, TerrainType terrain, int amount);
+
+    /**
+     * Notifies the listener that the current turn ended, before the tile of the next turn is drawn.
+     * @param round is the round.
+     */
+    void turnEnded(Round round);
+
+    /**
+     * Notifies the listener that the round ended, either regularly or because it was aborted.
+     * @param round is the round.
+     */
+    void roundEnded(Round round);
+}
@@ -1,5 +1,7 @@
 package carcassonne.control;
 
+import java.io.File;
+import java.nio.file.Paths;
 import java.util.HashMap;
 import java.util.Map;
 
@@ -11,7 +13,11 @@ import carcassonne.control.state.StatePlacing;
 import carcassonne.model.Round;
 import carcassonne.model.grid.Grid;
 import carcassonne.model.grid.GridDirection;
+import carcassonne.persistence.AutoSave;
+import carcassonne.persistence.GameJournal;
+import carcassonne.persistence.GameRecording;
 import carcassonne.settings.GameSettings;
+import carcassonne.view.GameMessage;
 import carcassonne.view.main.MainGUI;
 import carcassonne.view.secondary.PlacementGUI;
 import carcassonne.view.secondary.RotationGUI;
@@ -32,12 +38,21 @@ public class MainController {
     private final Map<Class<? extends AbstractControllerState>, AbstractControllerState> stateMap;
     private AbstractControllerState currentState;
     private final GameSettings settings;
+    private final GameEngine engine;
+    private final GameJournal journal;
+    private final GameRecording recording;
 
     /**
      * Basic constructor. Creates the view and the model of the game.
      */
     public MainController() {
         settings = new GameSettings();
+        engine = new GameEngine();
+        journal = new GameJournal(Paths.get(System.getProperty("user.home"), GameSettings.JOURNAL_FILE_NAME));
+        engine.addListener(journal);
+        engine.addListener(new AutoSave(Paths.get(System.getProperty("user.home"), GameSettings.AUTOSAVE_FILE_NAME)));
+        recording = new GameRecording();
+        engine.addListener(recording);
         mainGUI = new MainGUI(this);
         rotationGUI = new RotationGUI(this, mainGUI);
         placementGUI = new PlacementGUI(this, mainGUI);
@@ -55,10 +70,17 @@ public class MainController {
     }
 
     /**
-     * Shows the main GUI.
+     * Shows the main GUI. Offers to recover the round of the last session if it was not finished.
      */
     public void startGame() {
         mainGUI.setVisible(true);
+        if (journal.isRecoverable()) {
+            if (GameMessage.showQuestion("The last game was not finished. Do you want to continue it?")) {
+                currentState.recoverGame(journal);
+            } else {
+                journal.discard();
+            }
+        }
     }
 
     /**
@@ -98,6 +120,14 @@ public class MainController {
         currentState.placeMeeple(position);
     }
 
+    /**
+     * Requests to load a saved round from a file.
+     * @param file is the file of the saved round.
+     */
+    public void requestLoadGame(File file) {
+        currentState.loadGame(file);
+    }
+
     /**
      * Requests to start a new round with a specific amount of players.
      */
@@ -105,6 +135,14 @@ public class MainController {
         currentState.newRound(settings.getAmountOfPlayers());
     }
 
+    /**
+     * Requests to save the current round to a file.
+     * @param file is the file where the round is saved.
+     */
+    public void requestSaveGame(File file) {
+        currentState.saveGame(file);
+    }
+
     /**
      * Method for the view to call if the user wants to skip a round.
      */
@@ -133,6 +171,22 @@ public class MainController {
         }
     }
 
+    /**
+     * Getter for the {@link GameEngine}, which executes the actions of the current round.
+     * @return the {@link GameEngine} instance.
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Getter for the {@link GameRecording} of the current or last round.
+     * @return the {@link GameRecording} instance, which is reset when the next round starts.
+     */
+    public GameRecording getRecording() {
+        return recording;
+    }
+
     /**
      * Getter for the {@link GameSettings}, which grants access to the games settings.
      * @return the {@link GameSettings} instance.
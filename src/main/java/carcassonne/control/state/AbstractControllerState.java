@@ -1,13 +1,21 @@
 package carcassonne.control.state;
 
+import java.io.File;
+import java.io.IOException;
+
+import carcassonne.control.GameEngine;
 import carcassonne.control.MainController;
 import carcassonne.model.Player;
 import carcassonne.model.Round;
 import carcassonne.model.grid.Grid;
 import carcassonne.model.grid.GridDirection;
 import carcassonne.model.grid.GridSpot;
+import carcassonne.model.tile.Tile;
+import carcassonne.persistence.GameJournal;
+import carcassonne.persistence.RoundSerializer;
 import carcassonne.settings.GameSettings;
 import carcassonne.settings.SystemProperties;
+import carcassonne.view.GameMessage;
 import carcassonne.view.main.MainGUI;
 import carcassonne.view.menubar.Scoreboard;
 import carcassonne.view.secondary.PlacementGUI;
@@ -20,6 +28,7 @@ import carcassonne.view.secondary.RotationGUI;
 public abstract class AbstractControllerState {
 
     protected MainController controller;
+    protected GameEngine engine;
     protected MainGUI mainGUI;
     protected RotationGUI rotationGUI;
     protected PlacementGUI placementGUI;
@@ -38,6 +47,7 @@ public abstract class AbstractControllerState {
      */
     public AbstractControllerState(MainController controller, MainGUI mainGUI, RotationGUI rotationGUI, PlacementGUI placementGUI) {
         this.controller = controller;
+        engine = controller.getEngine();
         this.mainGUI = mainGUI;
         this.rotationGUI = rotationGUI;
         this.placementGUI = placementGUI;
@@ -56,12 +66,24 @@ public abstract class AbstractControllerState {
      */
     public abstract boolean isPlaceable(GridDirection position);
 
+    /**
+     * Loads a saved round from a file.
+     * @param file is the file of the saved round.
+     */
+    public abstract void loadGame(File file);
+
     /**
      * Starts new round with a specific amount of players.
      * @param playerCount sets the amount of players.
      */
     public abstract void newRound(int playerCount);
 
+    /**
+     * Recovers the unfinished round of a game journal.
+     * @param journal is the journal of the unfinished round.
+     */
+    public abstract void recoverGame(GameJournal journal);
+
     /**
      * Method for the view to call if a user mans a tile with a Meeple.
      * @param position is the placement position.
@@ -75,6 +97,12 @@ public abstract class AbstractControllerState {
      */
     public abstract void placeTile(int x, int y);
 
+    /**
+     * Saves the current round to a file.
+     * @param file is the file where the round is saved.
+     */
+    public abstract void saveGame(File file);
+
     /**
      * Method for the view to call if the user wants to skip a round.
      */
@@ -116,8 +144,8 @@ public abstract class AbstractControllerState {
      */
     protected void startNewRound(int playerCount) {
         SystemProperties systemProperties = new SystemProperties();
-        int gridWidth = systemProperties.getResolutionWidth() / GameSettings.TILE_SIZE;
-        int gridHeight = systemProperties.getResolutionHeight() / GameSettings.TILE_SIZE;
+        int gridWidth = systemProperties.getResolutionWidth() / GameSettings.MINIMAL_TILE_SIZE; // fits screen when zoomed out
+        int gridHeight = systemProperties.getResolutionHeight() / GameSettings.MINIMAL_TILE_SIZE;
         Grid newGrid = new Grid(gridWidth, gridHeight);
         Round newRound = new Round(playerCount, newGrid, controller.getProperties());
         controller.updateStates(newRound, newGrid);
@@ -126,11 +154,94 @@ public abstract class AbstractControllerState {
         GridSpot spot = round.getCurrentTile().getGridSpot(); // starting spot.
         mainGUI.setTile(spot.getTile(), spot.getX(), spot.getY());
         highlightSurroundings(spot);
-        round.nextTurn(); // first tile is drawn, player one is active.
+        engine.startRound(round); // first tile is drawn, player one is active.
         mainGUI.setCurrentPlayer(round.getActivePlayer());
         changeState(StatePlacing.class);
     }
 
+    /**
+     * Loads a saved round from a file and shows it on the main UI. The loaded round continues with the placement of the
+     * current tile.
+     * @param file is the file of the saved round.
+     */
+    protected void loadRound(File file) {
+        Round loadedRound;
+        try {
+            loadedRound = RoundSerializer.load(file.toPath(), controller.getProperties());
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            GameMessage.showError("ERROR: Could not load the game from " + file + ": " + exception.getMessage());
+            return;
+        }
+        showRestoredRound(loadedRound);
+    }
+
+    /**
+     * Recovers the unfinished round of a game journal and shows it on the main UI. The journal is discarded if it can not
+     * be recovered.
+     * @param journal is the journal of the unfinished round.
+     */
+    protected void recoverRound(GameJournal journal) {
+        Round recoveredRound;
+        try {
+            recoveredRound = journal.recover(controller.getProperties());
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            GameMessage.showError("ERROR: Could not recover the last game: " + exception.getMessage());
+            journal.discard();
+            return;
+        }
+        showRestoredRound(recoveredRound);
+    }
+
+    // shows a loaded or recovered round on the main UI and continues it with the placement of the current tile.
+    private void showRestoredRound(Round restoredRound) {
+        Grid restoredGrid = restoredRound.getGrid();
+        if (!mainGUI.fitsGrid(restoredGrid.getWidth(), restoredGrid.getHeight())) {
+            GameMessage.showError("ERROR: The game was played on a board that does not fit this screen.");
+            return;
+        }
+        controller.updateStates(restoredRound, restoredGrid);
+        mainGUI.rebuildGrids();
+        mainGUI.setAnimationsEnabled(false); // restoring the whole board at once
+        for (int x = 0; x < grid.getWidth(); x++) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                Tile tile = grid.getSpot(x, y).getTile();
+                if (tile != null) {
+                    mainGUI.setTile(tile, x, y);
+                    highlightSurroundings(grid.getSpot(x, y));
+                    if (tile.hasMeeple()) {
+                        mainGUI.setMeeple(tile, tile.getMeeple().getPosition(), tile.getMeeple().getOwner());
+                    }
+                }
+            }
+        }
+        mainGUI.setAnimationsEnabled(true);
+        mainGUI.setRunningMenuState();
+        updateScores();
+        updateStackSize();
+        engine.resumeRound(round);
+        if (round.isOver()) { // recovered after the last turn
+            changeState(StateGameOver.class);
+        } else {
+            mainGUI.setCurrentPlayer(round.getActivePlayer());
+            changeState(StatePlacing.class);
+        }
+    }
+
+    /**
+     * Saves the current round to a file.
+     * @param file is the file where the round is saved.
+     */
+    protected void saveRound(File file) {
+        try {
+            RoundSerializer.save(round, file.toPath());
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            GameMessage.showError("ERROR: Could not save the game to " + file + ": " + exception.getMessage());
+        }
+    }
+
     /**
      * Updates the round and the grid of every state after a new round has been started.
      */
@@ -1,8 +1,11 @@
 package carcassonne.control.state;
 
+import java.io.File;
+
 import carcassonne.control.MainController;
 import carcassonne.model.grid.GridDirection;
 import carcassonne.model.grid.GridPattern;
+import carcassonne.persistence.GameJournal;
 import carcassonne.view.GameMessage;
 import carcassonne.view.main.MainGUI;
 import carcassonne.view.secondary.PlacementGUI;
@@ -45,6 +48,16 @@ public class StateGameOver extends AbstractControllerState {
         return false; // can never place meeple in this state.
     }
 
+    /**
+     * @see carcassonne.control.state.AbstractControllerState#loadGame()
+     */
+    @Override
+    public void loadGame(File file) {
+        exit();
+        changeState(StateIdle.class);
+        loadRound(file);
+    }
+
     /**
      * @see carcassonne.control.state.AbstractControllerState#newRound()
      */
@@ -71,6 +84,24 @@ public class StateGameOver extends AbstractControllerState {
         // do nothing.
     }
 
+    /**
+     * @see carcassonne.control.state.AbstractControllerState#recoverGame()
+     */
+    @Override
+    public void recoverGame(GameJournal journal) {
+        exit();
+        changeState(StateIdle.class);
+        recoverRound(journal);
+    }
+
+    /**
+     * @see carcassonne.control.state.AbstractControllerState#saveGame()
+     */
+    @Override
+    public void saveGame(File file) {
+        GameMessage.showMessage("The game is over, there is no game to save.");
+    }
+
     /**
      * @see carcassonne.control.state.AbstractControllerState#skip()
      */
@@ -89,8 +120,8 @@ public class StateGameOver extends AbstractControllerState {
         System.out.println("FINAL PATTERNS:"); // TODO (LOW) remove debug output
         for (GridPattern pattern : grid.getAllPatterns()) {
             System.out.println(pattern); // TODO (LOW) remove debug output
-            pattern.forceDisburse();
         }
+        engine.finishRound();
         updateScores();
         updateStackSize();
         mainGUI.resetMenuState();
@@ -1,7 +1,10 @@
 package carcassonne.control.state;
 
+import java.io.File;
+
 import carcassonne.control.MainController;
 import carcassonne.model.grid.GridDirection;
+import carcassonne.persistence.GameJournal;
 import carcassonne.view.GameMessage;
 import carcassonne.view.main.MainGUI;
 import carcassonne.view.secondary.PlacementGUI;
@@ -41,6 +44,14 @@ public class StateIdle extends AbstractControllerState {
         return false; // can never place meeple in this state.
     }
 
+    /**
+     * @see carcassonne.control.state.AbstractControllerState#loadGame()
+     */
+    @Override
+    public void loadGame(File file) {
+        loadRound(file);
+    }
+
     /**
      * @see carcassonne.control.state.AbstractControllerState#newRound()
      */
@@ -65,6 +76,22 @@ public class StateIdle extends AbstractControllerState {
         // do nothing.
     }
 
+    /**
+     * @see carcassonne.control.state.AbstractControllerState#recoverGame()
+     */
+    @Override
+    public void recoverGame(GameJournal journal) {
+        recoverRound(journal);
+    }
+
+    /**
+     * @see carcassonne.control.state.AbstractControllerState#saveGame()
+     */
+    @Override
+    public void saveGame(File file) {
+        GameMessage.showMessage("There is currently no game running.");
+    }
+
     /**
      * @see carcassonne.control.state.AbstractControllerState#skip()
      */
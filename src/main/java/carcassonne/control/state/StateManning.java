@@ -1,14 +1,15 @@
 package carcassonne.control.state;
 
+import java.io.File;
+
 import carcassonne.control.MainController;
 import carcassonne.model.Meeple;
 import carcassonne.model.Player;
-import carcassonne.model.grid.CastleAndRoadPattern;
-import carcassonne.model.grid.FieldsPattern;
+import carcassonne.model.ScoreLedger;
 import carcassonne.model.grid.GridDirection;
 import carcassonne.model.grid.GridPattern;
-import carcassonne.model.terrain.TerrainType;
 import carcassonne.model.tile.Tile;
+import carcassonne.persistence.GameJournal;
 import carcassonne.view.GameMessage;
 import carcassonne.view.main.MainGUI;
 import carcassonne.view.secondary.PlacementGUI;
@@ -45,26 +46,15 @@ public class StateManning extends AbstractControllerState {
      */
     @Override
     public boolean isPlaceable(GridDirection position) {
-        Tile tile = round.getCurrentTile();
-        TerrainType terrain = tile.getTerrain(position);
-        boolean placeable = false;
-        if (terrain == TerrainType.OTHER) {
-            placeable = false; // you can never place on terrain other
-        } else if (terrain == TerrainType.MONASTERY) {
-            placeable = true; // you can always place on a monastery
-        } else {
-            GridPattern pattern;
-            if (terrain == TerrainType.FIELDS) {
-                pattern = new FieldsPattern(tile.getGridSpot(), position, grid);
-            } else { // castle or road:
-                pattern = new CastleAndRoadPattern(tile.getGridSpot(), position, terrain, grid);
-            }
-            if (pattern.isNotOccupied() || pattern.isOccupiedBy(round.getActivePlayer())) {
-                placeable = true; // can place meeple
-            }
-            pattern.removeTileTags();
-        }
-        return placeable;
+        return engine.isPlaceable(position);
+    }
+
+    /**
+     * @see carcassonne.control.state.AbstractControllerState#loadGame()
+     */
+    @Override
+    public void loadGame(File file) {
+        GameMessage.showWarning("Abort the current game before loading another one.");
     }
 
     /**
@@ -84,11 +74,9 @@ public class StateManning extends AbstractControllerState {
         Player player = round.getActivePlayer();
         if (player.hasFreeMeeples() && isPlaceable(position)) {
             mainGUI.resetMeeplePreview(tile);
-            tile.placeMeeple(player, position);
+            engine.placeMeeple(position);
             mainGUI.setMeeple(tile, position, player);
-            updateScores();
-            processGridPatterns();
-            startNextTurn();
+            endTurn();
         } else {
             GameMessage.showWarning("You can't place meeple directly on an occupied Castle or Road!");
         }
@@ -102,38 +90,52 @@ public class StateManning extends AbstractControllerState {
         // do nothing.
     }
 
+    /**
+     * @see carcassonne.control.state.AbstractControllerState#recoverGame()
+     */
+    @Override
+    public void recoverGame(GameJournal journal) {
+        GameMessage.showWarning("Abort the current game before recovering another one.");
+    }
+
+    /**
+     * @see carcassonne.control.state.AbstractControllerState#saveGame()
+     */
+    @Override
+    public void saveGame(File file) {
+        GameMessage.showWarning("Finish the current turn before saving the game.");
+    }
+
     /**
      * @see carcassonne.control.state.AbstractControllerState#skip()
      */
     @Override
     public void skip() {
         mainGUI.resetMeeplePreview(round.getCurrentTile());
-        processGridPatterns();
-        startNextTurn();
+        endTurn();
     }
 
-    // gives the players the points they earned.
-    private void processGridPatterns() {
+    // gives the players the points they earned, starts the next turn and changes the state to state placing. The
+    // scoreboard is updated once at the end of the turn.
+    private void endTurn() {
         Tile tile = round.getCurrentTile();
-        for (GridPattern pattern : grid.getModifiedPatterns(tile.getGridSpot())) {
-            if (pattern.isComplete()) {
-                for (Meeple meeple : pattern.getMeepleList()) {
-                    mainGUI.removeMeeple(meeple);
-                }
-                pattern.disburse();
-                updateScores();
+        ScoreLedger ledger = round.getScoreLedger();
+        int firstEvent = ledger.getEventCount();
+        for (GridPattern pattern : engine.getCompletedPatterns()) {
+            for (Meeple meeple : pattern.getMeepleList()) {
+                mainGUI.removeMeeple(meeple);
             }
         }
-    }
-
-    // starts the next turn and changes the state to state placing.
-    private void startNextTurn() {
-        if (round.isOver()) {
-            changeState(StateGameOver.class);
-        } else {
-            round.nextTurn();
+        boolean running = engine.endTurn();
+        for (int event = firstEvent; event < ledger.getEventCount(); event++) { // points rise from the placed tile
+            mainGUI.showScore(tile, round.getPlayer(ledger.getEventPlayer(event)), ledger.getEventAmount(event), event - firstEvent);
+        }
+        updateScores();
+        if (running) {
             mainGUI.setCurrentPlayer(round.getActivePlayer());
             changeState(StatePlacing.class);
+        } else {
+            changeState(StateGameOver.class);
         }
     }
 
@@ -147,8 +149,7 @@ public class StateManning extends AbstractControllerState {
             placementGUI.setTile(round.getCurrentTile(), round.getActivePlayer());
         } else {
             GameMessage.showMessage("You have no Meeples left. Regain Meeples by completing patterns to place Meepeles again.");
-            processGridPatterns();
-            startNextTurn();
+            endTurn();
         }
     }
 
@@ -1,9 +1,12 @@
 package carcassonne.control.state;
 
+import java.io.File;
+
 import carcassonne.control.MainController;
 import carcassonne.model.grid.GridDirection;
 import carcassonne.model.grid.GridSpot;
 import carcassonne.model.tile.Tile;
+import carcassonne.persistence.GameJournal;
 import carcassonne.view.GameMessage;
 import carcassonne.view.main.MainGUI;
 import carcassonne.view.secondary.PlacementGUI;
@@ -43,6 +46,14 @@ public class StatePlacing extends AbstractControllerState {
         return false; // can never place meeple in this state.
     }
 
+    /**
+     * @see carcassonne.control.state.AbstractControllerState#loadGame()
+     */
+    @Override
+    public void loadGame(File file) {
+        GameMessage.showWarning("Abort the current game before loading another one.");
+    }
+
     /**
      * @see carcassonne.control.state.AbstractControllerState#newRound()
      */
@@ -66,7 +77,7 @@ public class StatePlacing extends AbstractControllerState {
     @Override
     public void placeTile(int x, int y) {
         Tile tile = round.getCurrentTile();
-        if (grid.place(x, y, tile)) {
+        if (engine.placeTile(x, y)) {
             mainGUI.setTile(tile, x, y);
             GridSpot spot = grid.getSpot(x, y);
             highlightSurroundings(spot);
@@ -74,6 +85,22 @@ public class StatePlacing extends AbstractControllerState {
         }
     }
 
+    /**
+     * @see carcassonne.control.state.AbstractControllerState#recoverGame()
+     */
+    @Override
+    public void recoverGame(GameJournal journal) {
+        GameMessage.showWarning("Abort the current game before recovering another one.");
+    }
+
+    /**
+     * @see carcassonne.control.state.AbstractControllerState#saveGame()
+     */
+    @Override
+    public void saveGame(File file) {
+        saveRound(file);
+    }
+
     /**
      * @see carcassonne.control.state.AbstractControllerState#skip()
      */
@@ -82,10 +109,13 @@ public class StatePlacing extends AbstractControllerState {
         if (round.isOver()) {
             changeState(StateGameOver.class);
         } else {
-            round.skipCurrentTile();
-            round.nextTurn();
-            mainGUI.setCurrentPlayer(round.getActivePlayer());
-            entry();
+            engine.skipTile();
+            if (engine.endTurn()) {
+                mainGUI.setCurrentPlayer(round.getActivePlayer());
+                entry();
+            } else {
+                changeState(StateGameOver.class);
+            }
         }
     }
 
@@ -95,8 +125,9 @@ public class StatePlacing extends AbstractControllerState {
     @Override
     protected void entry() {
         Tile currentTile = round.getCurrentTile();
-        for (int i = 0; i < Math.round(Math.random() * 4 - 0.5); i++) {
-            currentTile.rotateRight(); // Random rotation with equal chance for each rotation.
+        int rotations = round.getRandom().nextInt(4); // Random rotation with equal chance for each rotation.
+        for (int i = 0; i < rotations; i++) {
+            currentTile.rotateRight();
         }
         rotationGUI.setTile(currentTile, round.getActivePlayer());
         updateStackSize();
@@ -8,6 +8,7 @@ import carcassonne.model.tile.Tile;
  * @author Timur Saglam
  */
 public class Meeple {
+    private int deployedIndex;
     private Tile location;
     private final Player owner;
     private GridDirection position;
@@ -18,6 +19,7 @@ public class Meeple {
      */
     public Meeple(Player owner) {
         this.owner = owner;
+        deployedIndex = -1; // not in use
     }
 
     /**
@@ -57,8 +59,15 @@ public class Meeple {
      */
     public void removePlacement() {
         if (location != null) {
-            owner.returnMeeple(); // return me.
+            Tile tile = location;
             location = null; // mark as unplaced.
+            if (tile.isPlaced()) {
+                tile.getGridSpot().markModified(); // the occupation of the patterns changed
+            }
+            if (tile.getMeeple() == this) {
+                tile.removeMeeple(); // prevents stale references to the reused meeple
+            }
+            owner.returnMeeple(this); // return me.
         }
     }
 
@@ -78,6 +87,22 @@ public class Meeple {
         this.position = placementPosition;
     }
 
+    /**
+     * Getter for the index of the meeple in the deployed meeples of its owner.
+     * @return the index or -1 if the meeple is not in use.
+     */
+    int getDeployedIndex() {
+        return deployedIndex;
+    }
+
+    /**
+     * Sets the index of the meeple in the deployed meeples of its owner.
+     * @param deployedIndex is the index or -1 if the meeple is not in use.
+     */
+    void setDeployedIndex(int deployedIndex) {
+        this.deployedIndex = deployedIndex;
+    }
+
     @Override
     public String toString() {
         String locationString = "null";
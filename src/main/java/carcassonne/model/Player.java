@@ -1,8 +1,5 @@
 package carcassonne.model;
 
-import java.util.HashMap;
-import java.util.Map;
-
 import carcassonne.model.terrain.TerrainType;
 import carcassonne.settings.GameSettings;
 import carcassonne.settings.PlayerColor;
@@ -13,21 +10,32 @@ import carcassonne.settings.PlayerColor;
  */
 public class Player {
     private static final int MAX_MEEPLES = 7;
-    private int freeMeeples;
+    private final Meeple[] freeMeeples; // stack of unused meeples of the pool
+    private int freeCount;
+    private final Meeple[] deployedMeeples; // dense array of meeples in use
+    private int deployedCount;
     private final int number;
     private int overallScore;
-    private Map<TerrainType, Integer> terrainSpecificScores;
+    private int[] terrainSpecificScores; // indexed by terrain ordinal
+    private final ScoreLedger ledger;
     private final GameSettings settings;
 
     /**
      * Simple constructor.
      * @param number is the number of the player.
      * @param settings are the {@link GameSettings}.
+     * @param ledger is the {@link ScoreLedger} of the round, which records every score of the player.
      */
-    public Player(int number, GameSettings settings) {
+    public Player(int number, GameSettings settings, ScoreLedger ledger) {
         this.number = number;
         this.settings = settings;
-        freeMeeples = MAX_MEEPLES;
+        this.ledger = ledger;
+        freeMeeples = new Meeple[MAX_MEEPLES];
+        deployedMeeples = new Meeple[MAX_MEEPLES];
+        for (int i = 0; i < MAX_MEEPLES; i++) {
+            freeMeeples[i] = new Meeple(this); // the pool is reused for the whole round
+        }
+        freeCount = MAX_MEEPLES;
         initializeScores();
     }
 
@@ -37,8 +45,19 @@ public class Player {
      * @param scoreType determines the score multiplier.
      */
     public void addScore(int amount, TerrainType scoreType) {
-        terrainSpecificScores.put(scoreType, terrainSpecificScores.get(scoreType) + amount);
+        addScore(amount, scoreType, -1);
+    }
+
+    /**
+     * Adds score to the players score value, keeps track of the type of score and records it in the score ledger.
+     * @param amount is the amount of points the player gets.
+     * @param scoreType determines the score multiplier.
+     * @param patternId is the id of the pattern that was scored, or -1 if unknown.
+     */
+    public void addScore(int amount, TerrainType scoreType, int patternId) {
+        terrainSpecificScores[scoreType.ordinal()] += amount;
         overallScore += amount;
+        ledger.record(number, scoreType, amount, patternId);
     }
 
     /**
@@ -46,17 +65,41 @@ public class Player {
      * @return the amount of free meeples.
      */
     public int getFreeMeeples() {
-        return freeMeeples;
+        return freeCount;
     }
 
     /**
-     * Grants access to a meeple.
+     * Getter for the amount of meeples that are currently in use.
+     * @return the amount of deployed meeples.
+     */
+    public int getDeployedMeepleCount() {
+        return deployedCount;
+    }
+
+    /**
+     * Grants constant time access to a meeple that is currently in use. The order of the deployed meeples changes when a
+     * meeple is returned.
+     * @param index is the index of the meeple, in the range of [0, {@link #getDeployedMeepleCount()}).
+     * @return the deployed meeple, which knows its location and position.
+     */
+    public Meeple getDeployedMeeple(int index) {
+        if (index < 0 || index >= deployedCount) {
+            throw new IllegalArgumentException("Invalid deployed meeple index: " + index);
+        }
+        return deployedMeeples[index];
+    }
+
+    /**
+     * Grants access to a meeple. The meeple is taken from the pool of the player, no new meeple is created.
      * @return the meeple.
      */
     public Meeple getMeeple() {
         if (hasFreeMeeples()) {
-            freeMeeples--;
-            return new Meeple(this);
+            Meeple meeple = freeMeeples[--freeCount];
+            freeMeeples[freeCount] = null;
+            meeple.setDeployedIndex(deployedCount);
+            deployedMeeples[deployedCount++] = meeple;
+            return meeple;
         }
         throw new IllegalStateException("No unused meeples are left.");
     }
@@ -83,10 +126,10 @@ public class Player {
      * @return the specific score.
      */
     public int getTerrainScore(TerrainType scoreType) {
-        if (terrainSpecificScores.containsKey(scoreType)) {
-            return terrainSpecificScores.get(scoreType);
+        if (scoreType == TerrainType.OTHER) {
+            return -1; // error
         }
-        return -1; // error
+        return terrainSpecificScores[scoreType.ordinal()];
     }
 
     /**
@@ -94,14 +137,24 @@ public class Player {
      * @return true if he has at least one free Meeple.
      */
     public boolean hasFreeMeeples() {
-        return freeMeeples > 0;
+        return freeCount > 0;
     }
 
     /**
      * Returns a meeple after its job is down. Allows the player to place another meeple.
+     * @param meeple is the meeple that is returned to the pool.
      */
-    public void returnMeeple() {
-        freeMeeples++;
+    public void returnMeeple(Meeple meeple) {
+        int index = meeple.getDeployedIndex();
+        if (meeple.getOwner() != this || index < 0 || deployedMeeples[index] != meeple) {
+            throw new IllegalArgumentException("Meeple is not deployed by this player: " + meeple);
+        }
+        Meeple last = deployedMeeples[--deployedCount]; // fill the gap with the last deployed meeple
+        deployedMeeples[index] = last;
+        last.setDeployedIndex(index);
+        deployedMeeples[deployedCount] = null;
+        meeple.setDeployedIndex(-1);
+        freeMeeples[freeCount++] = meeple;
     }
 
     /**
@@ -122,14 +175,11 @@ public class Player {
 
     @Override
     public String toString() {
-        return "Player[number: " + number + ", score: " + overallScore + ", free meeples: " + freeMeeples + "]";
+        return "Player[number: " + number + ", score: " + overallScore + ", free meeples: " + freeCount + "]";
     }
 
     private void initializeScores() {
         overallScore = 0;
-        terrainSpecificScores = new HashMap<>();
-        for (int i = 0; i < TerrainType.values().length - 1; i++) {
-            terrainSpecificScores.put(TerrainType.values()[i], 0); // initial scores are zero
-        }
+        terrainSpecificScores = new int[TerrainType.values().length]; // initial scores are zero
     }
 }
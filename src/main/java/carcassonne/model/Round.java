@@ -2,6 +2,7 @@ package carcassonne.model;
 
 import java.util.LinkedList;
 import java.util.List;
+import java.util.SplittableRandom;
 
 import carcassonne.model.grid.Grid;
 import carcassonne.model.tile.Tile;
@@ -20,18 +21,56 @@ public class Round {
     private final Grid grid;
     private Player[] players;
     private final int playerCount;
+    private final ScoreLedger scoreLedger;
     private final TileStack tileStack;
+    private final long seed;
+    private final SplittableRandom random;
 
     /**
-     * Simple constructor that creates the grid, the tile stack and the players.
+     * Simple constructor that creates the grid, the tile stack and the players with a random seed.
      * @param playerCount is the amount of players of the round.
      * @param grid is the grid of the round.
      * @param settings are the {@link GameSettings}.
      */
     public Round(int playerCount, Grid grid, GameSettings settings) {
+        this(playerCount, grid, settings, new SplittableRandom().nextLong());
+    }
+
+    /**
+     * Constructor that creates the grid, the tile stack and the players. All randomness of the round is derived from the
+     * seed, which means two rounds with the same seed, settings and moves are identical.
+     * @param playerCount is the amount of players of the round.
+     * @param grid is the grid of the round.
+     * @param settings are the {@link GameSettings}.
+     * @param seed is the seed of the random generator of the round.
+     */
+    public Round(int playerCount, Grid grid, GameSettings settings, long seed) {
+        this.grid = grid;
+        this.playerCount = playerCount;
+        this.seed = seed;
+        random = new SplittableRandom(seed);
+        scoreLedger = new ScoreLedger(playerCount);
+        tileStack = new TileStack(playerCount, !settings.isChaosMode(), random.split()); // TODO (HIGH) remove from round?
+        createPlayers(settings);
+        currentTile = grid.getFoundation().getTile();
+    }
+
+    /**
+     * Constructor that restores a round with a specific tile stack, e.g. of a saved game. The state of the turn needs to
+     * be restored with {@link #restoreTurn(int, Tile, int)} afterwards.
+     * @param playerCount is the amount of players of the round.
+     * @param grid is the restored grid of the round.
+     * @param settings are the {@link GameSettings}.
+     * @param tileStack is the restored tile stack.
+     * @param seed is the seed of the round. The random generator of the restored round starts anew from this seed.
+     */
+    public Round(int playerCount, Grid grid, GameSettings settings, TileStack tileStack, long seed) {
         this.grid = grid;
         this.playerCount = playerCount;
-        tileStack = new TileStack(playerCount, !settings.isChaosMode()); // TODO (HIGH) remove from round?
+        this.tileStack = tileStack;
+        this.seed = seed;
+        random = new SplittableRandom(seed);
+        scoreLedger = new ScoreLedger(playerCount);
         createPlayers(settings);
         currentTile = grid.getFoundation().getTile();
     }
@@ -59,6 +98,14 @@ public class Round {
         tileStack.putBack(currentTile);
     }
 
+    /**
+     * Getter for the grid of the round.
+     * @return the {@link Grid}.
+     */
+    public Grid getGrid() {
+        return grid;
+    }
+
     /**
      * Getter for a specific players of the round.
      * @param playerNumber is the number of the specific players.
@@ -76,6 +123,39 @@ public class Round {
         return playerCount;
     }
 
+    /**
+     * Getter for the random generator of the round. All random decisions of the round have to be drawn from it to keep
+     * the round reproducible. The generator is not thread-safe, parallel users need to split it.
+     * @return the {@link SplittableRandom} of the round.
+     */
+    public SplittableRandom getRandom() {
+        return random;
+    }
+
+    /**
+     * Getter for the seed of the round.
+     * @return the seed, from which all randomness of the round is derived.
+     */
+    public long getSeed() {
+        return seed;
+    }
+
+    /**
+     * Getter for the score ledger, which contains the score history of the round.
+     * @return the {@link ScoreLedger} of the round.
+     */
+    public ScoreLedger getScoreLedger() {
+        return scoreLedger;
+    }
+
+    /**
+     * Getter for the tile stack, which contains the tiles that are left.
+     * @return the {@link TileStack}.
+     */
+    public TileStack getTileStack() {
+        return tileStack;
+    }
+
     /**
      * Returns amounts of tiles left on the stack.
      * @return the stack size.
@@ -118,6 +198,25 @@ public class Round {
     public void nextTurn() {
         activePlayerIndex = ++activePlayerIndex % players.length;
         currentTile = tileStack.drawTile();
+        scoreLedger.nextTurn();
+    }
+
+    /**
+     * Restores the state of a turn, e.g. of a saved game. The score ledger is advanced to the turn, which means scores that
+     * are restored afterwards are recorded for that turn.
+     * @param activePlayer is the number of the player whose turn it is.
+     * @param currentTile is the tile that was drawn for the turn.
+     * @param turn is the number of the turn.
+     */
+    public void restoreTurn(int activePlayer, Tile currentTile, int turn) {
+        if (activePlayer < 0 || activePlayer >= playerCount || scoreLedger.getTurn() > turn) {
+            throw new IllegalArgumentException("Invalid turn " + turn + " of player " + activePlayer);
+        }
+        activePlayerIndex = activePlayer;
+        this.currentTile = currentTile;
+        while (scoreLedger.getTurn() < turn) {
+            scoreLedger.nextTurn();
+        }
     }
 
     /**
@@ -130,7 +229,7 @@ public class Round {
         }
         players = new Player[playerCount]; // initialize the players array.
         for (int i = 0; i < players.length; i++) {
-            players[i] = new Player(i, settings); // create the players.
+            players[i] = new Player(i, settings, scoreLedger); // create the players.
         }
         activePlayerIndex = -1; // first player can only start after first tile is drawn via nextTurn()
     }
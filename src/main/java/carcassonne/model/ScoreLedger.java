@@ -0,0 +1,210 @@
+package carcassonne.model;
+
+import java.util.Arrays;
+
+import carcassonne.model.grid.GridPattern;
+import carcassonne.model.terrain.TerrainType;
+
+/**
+ * The score ledger of a round. It records every score event (turn, player, terrain, amount and pattern id) in growable
+ * primitive arrays and keeps cumulative totals per turn, which allows constant time queries of the score of any player
+ * at any past turn without boxing.
+ * @author Timur Saglam
+ */
+public class ScoreLedger {
+    private static final int INITIAL_CAPACITY = 64;
+    private static final int TERRAIN_COUNT = TerrainType.values().length;
+    private final int playerCount;
+    private int turn;
+    private int size;
+    private int[] eventTurns;
+    private int[] eventPlayers;
+    private byte[] eventTerrains;
+    private int[] eventAmounts;
+    private int[] eventPatterns;
+    private int[] cumulativeScores; // flattened [turn][player][terrain], index TERRAIN_COUNT - 1 holds the total
+    private int turnCapacity;
+
+    /**
+     * Creates an empty ledger for a specific amount of players. The ledger starts at turn zero.
+     * @param playerCount is the amount of players.
+     */
+    public ScoreLedger(int playerCount) {
+        if (playerCount <= 0) {
+            throw new IllegalArgumentException(playerCount + " is not a valid player count");
+        }
+        this.playerCount = playerCount;
+        eventTurns = new int[INITIAL_CAPACITY];
+        eventPlayers = new int[INITIAL_CAPACITY];
+        eventTerrains = new byte[INITIAL_CAPACITY];
+        eventAmounts = new int[INITIAL_CAPACITY];
+        eventPatterns = new int[INITIAL_CAPACITY];
+        turnCapacity = INITIAL_CAPACITY;
+        cumulativeScores = new int[turnCapacity * rowLength()];
+    }
+
+    /**
+     * Advances the ledger to the next turn. The cumulative scores of the new turn start with the values of the previous
+     * turn.
+     */
+    public void nextTurn() {
+        turn++;
+        if (turn >= turnCapacity) {
+            turnCapacity *= 2;
+            cumulativeScores = Arrays.copyOf(cumulativeScores, turnCapacity * rowLength());
+        }
+        System.arraycopy(cumulativeScores, (turn - 1) * rowLength(), cumulativeScores, turn * rowLength(), rowLength());
+    }
+
+    /**
+     * Records a score event for the current turn.
+     * @param player is the number of the player who scored.
+     * @param terrain is the {@link TerrainType} of the scored pattern.
+     * @param amount is the amount of points.
+     * @param patternId is the id of the scored pattern instance, or -1 if unknown. See {@link GridPattern#getId()}.
+     */
+    public void record(int player, TerrainType terrain, int amount, int patternId) {
+        checkPlayer(player);
+        if (size == eventTurns.length) {
+            int capacity = size * 2;
+            eventTurns = Arrays.copyOf(eventTurns, capacity);
+            eventPlayers = Arrays.copyOf(eventPlayers, capacity);
+            eventTerrains = Arrays.copyOf(eventTerrains, capacity);
+            eventAmounts = Arrays.copyOf(eventAmounts, capacity);
+            eventPatterns = Arrays.copyOf(eventPatterns, capacity);
+        }
+        eventTurns[size] = turn;
+        eventPlayers[size] = player;
+        eventTerrains[size] = (byte) terrain.ordinal();
+        eventAmounts[size] = amount;
+        eventPatterns[size] = patternId;
+        size++;
+        int offset = turn * rowLength() + player * TERRAIN_COUNT;
+        if (terrain != TerrainType.OTHER) {
+            cumulativeScores[offset + terrain.ordinal()] += amount;
+        }
+        cumulativeScores[offset + TerrainType.OTHER.ordinal()] += amount; // total
+    }
+
+    /**
+     * Returns the cumulative score of a player at the end of a specific turn.
+     * @param player is the number of the player.
+     * @param turn is the turn. Turns after the current turn are treated like the current turn.
+     * @return the overall score up to and including that turn.
+     */
+    public int getScore(int player, int turn) {
+        return getScore(player, TerrainType.OTHER, turn);
+    }
+
+    /**
+     * Returns the cumulative terrain specific score of a player at the end of a specific turn.
+     * @param player is the number of the player.
+     * @param terrain is the {@link TerrainType}. {@link TerrainType#OTHER} returns the overall score.
+     * @param turn is the turn. Turns after the current turn are treated like the current turn.
+     * @return the terrain specific score up to and including that turn.
+     */
+    public int getScore(int player, TerrainType terrain, int turn) {
+        checkPlayer(player);
+        if (turn < 0) {
+            throw new IllegalArgumentException("Turn can't be negative: " + turn);
+        }
+        int row = Math.min(turn, this.turn);
+        return cumulativeScores[row * rowLength() + player * TERRAIN_COUNT + terrain.ordinal()];
+    }
+
+    /**
+     * Getter for the current turn.
+     * @return the current turn, starting at zero.
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Getter for the amount of recorded score events.
+     * @return the amount of events.
+     */
+    public int getEventCount() {
+        return size;
+    }
+
+    /**
+     * Returns the turn of a specific score event.
+     * @param event is the index of the event.
+     * @return the turn of the event.
+     */
+    public int getEventTurn(int event) {
+        checkEvent(event);
+        return eventTurns[event];
+    }
+
+    /**
+     * Returns the player number of a specific score event.
+     * @param event is the index of the event.
+     * @return the number of the player who scored.
+     */
+    public int getEventPlayer(int event) {
+        checkEvent(event);
+        return eventPlayers[event];
+    }
+
+    /**
+     * Returns the terrain of a specific score event.
+     * @param event is the index of the event.
+     * @return the {@link TerrainType} of the scored pattern.
+     */
+    public TerrainType getEventTerrain(int event) {
+        checkEvent(event);
+        return TerrainType.values()[eventTerrains[event]];
+    }
+
+    /**
+     * Returns the amount of points of a specific score event.
+     * @param event is the index of the event.
+     * @return the amount of points.
+     */
+    public int getEventAmount(int event) {
+        checkEvent(event);
+        return eventAmounts[event];
+    }
+
+    /**
+     * Returns the pattern id of a specific score event.
+     * @param event is the index of the event.
+     * @return the id of the scored pattern instance at the time of scoring, or -1 if unknown. Ids are not stable across
+     * turns, see {@link GridPattern#getId()}.
+     */
+    public int getEventPattern(int event) {
+        checkEvent(event);
+        return eventPatterns[event];
+    }
+
+    /**
+     * Getter for the amount of players.
+     * @return the amount of players the ledger was created for.
+     */
+    public int getPlayerCount() {
+        return playerCount;
+    }
+
+    @Override
+    public String toString() {
+        return getClass().getSimpleName() + "[turn: " + turn + ", events: " + size + "]";
+    }
+
+    private void checkEvent(int event) {
+        if (event < 0 || event >= size) {
+            throw new IllegalArgumentException("Invalid score event index: " + event);
+        }
+    }
+
+    private void checkPlayer(int player) {
+        if (player < 0 || player >= playerCount) {
+            throw new IllegalArgumentException("Invalid player number: " + player);
+        }
+    }
+
+    private int rowLength() {
+        return playerCount * TERRAIN_COUNT;
+    }
+}
@@ -13,9 +13,11 @@ import carcassonne.model.tile.TileType;
  */
 public class Grid {
     private static final TileType FOUNDATION_TYPE = TileType.CastleWallRoad;
+    private static final GridDirection[] NEIGHBORS = GridDirection.neighbors();
     private final int width;
     private final int height;
     private final GridSpot[][] spots;
+    private final PatternRegistry patternRegistry;
     private GridSpot foundation;
 
     /**
@@ -27,6 +29,7 @@ public class Grid {
         this.width = width;
         this.height = height;
         spots = new GridSpot[width][height];
+        patternRegistry = new PatternRegistry(this);
         for (int y = 0; y < height; y++) {
             for (int x = 0; x < width; x++) {
                 spots[x][y] = new GridSpot(this, x, y);
@@ -40,18 +43,7 @@ public class Grid {
      * @return the list of patterns.
      */
     public List<GridPattern> getAllPatterns() {
-        List<GridPattern> patterns = new LinkedList<>();
-        for (int y = 0; y < height; y++) {
-            for (int x = 0; x < width; x++) {
-                if (spots[x][y].isOccupied()) {
-                    patterns.addAll(spots[x][y].createPatternList());
-                }
-            }
-        }
-        for (GridPattern pattern : patterns) {
-            pattern.removeTileTags(); // IMPORTANT
-        }
-        return patterns; // get patterns.
+        return patternRegistry.getPatterns();
     }
 
     /**
@@ -97,13 +89,28 @@ public class Grid {
         if (spot.isFree()) {
             throw new IllegalArgumentException("Can't check for patterns on an free grid space");
         }
-        List<GridPattern> modifiedPatterns = spot.createPatternList();
-        for (GridPattern pattern : modifiedPatterns) {
-            pattern.removeTileTags(); // VERY IMPORTANT!
+        List<GridPattern> modifiedPatterns = patternRegistry.getPatternsOn(spot);
+        for (GridDirection direction : NEIGHBORS) { // add monastery patterns of the neighbors:
+            GridSpot neighbor = getNeighbor(spot, direction);
+            if (neighbor != null && neighbor.getTile().isMonastery()) {
+                for (GridPattern pattern : patternRegistry.getPatternsOn(neighbor)) {
+                    if (pattern instanceof MonasteryGridPattern) {
+                        modifiedPatterns.add(pattern);
+                    }
+                }
+            }
         }
         return modifiedPatterns; // get patterns.
     }
 
+    /**
+     * Grants access to the pattern registry, which allows indexed queries on all current patterns of the grid.
+     * @return the {@link PatternRegistry} of this grid.
+     */
+    public PatternRegistry getPatternRegistry() {
+        return patternRegistry;
+    }
+
     /**
      * Returns the neighbor of a specific {@link GridSpot} in a specific direction or null of there is none.
      * @param spot is the {@link GridSpot} from which the neighbor is requested.
@@ -111,12 +118,13 @@ public class Grid {
      * @return the neighboring {@link GridSpot} or null if there is no tile placed.
      */
     public GridSpot getNeighbor(GridSpot spot, GridDirection direction) {
-        List<GridSpot> neighbors = getNeighbors(spot, false, direction);
-        if (neighbors.isEmpty()) {
-            return null; // return null if tile not placed or not on grid.
-        } else {
-            return neighbors.get(0);
+        checkParameters(spot);
+        int newX = direction.addX(spot.getX());
+        int newY = direction.addY(spot.getY());
+        if (isOnGrid(newX, newY) && spots[newX][newY].isOccupied()) {
+            return spots[newX][newY];
         }
+        return null; // return null if tile not placed or not on grid.
     }
 
     /**
@@ -216,7 +224,30 @@ public class Grid {
     public boolean place(int x, int y, Tile tile) {
         checkParameters(x, y);
         checkParameters(tile);
-        return spots[x][y].set(tile);
+        if (spots[x][y].set(tile)) {
+            updateNeighborCounters(spots[x][y]);
+            patternRegistry.markModified(spots[x][y]);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Places a tile on a spot on the grid without checking the placement rules, e.g. when restoring a saved game. The
+     * restored tiles may be placed in any order.
+     * @param x is the x coordinate
+     * @param y is the y coordinate
+     * @param tile is the tile to place
+     */
+    public void restore(int x, int y, Tile tile) {
+        checkParameters(x, y);
+        checkParameters(tile);
+        if (spots[x][y].isOccupied()) {
+            throw new IllegalArgumentException("Spot is already occupied: " + spots[x][y]);
+        }
+        spots[x][y].forcePlacement(tile);
+        updateNeighborCounters(spots[x][y]);
+        patternRegistry.markModified(spots[x][y]);
     }
 
     private void checkParameters(GridSpot spot) {
@@ -281,6 +312,19 @@ public class Grid {
         int centerY = Math.round((height - 1) / 2);
         foundation = spots[centerX][centerY];
         foundation.forcePlacement(new Tile(tileType));
+        updateNeighborCounters(foundation);
+        patternRegistry.markModified(foundation);
+    }
+
+    // updates the occupied neighbor counters of the eight spots surrounding a newly occupied spot.
+    private void updateNeighborCounters(GridSpot spot) {
+        for (GridDirection direction : NEIGHBORS) {
+            int newX = direction.addX(spot.getX());
+            int newY = direction.addY(spot.getY());
+            if (isOnGrid(newX, newY)) {
+                spots[newX][newY].addOccupiedNeighbor();
+            }
+        }
     }
 
 }
\ No newline at end of file
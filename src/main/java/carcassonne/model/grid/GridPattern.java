@@ -19,6 +19,7 @@ import carcassonne.model.terrain.TerrainType;
 public abstract class GridPattern {
 
     private boolean disbursed;
+    private int id;
     protected boolean complete;
     protected Map<Player, Integer> involvedPlayers;
     protected List<Meeple> meepleList;
@@ -37,6 +38,7 @@ public abstract class GridPattern {
         containedSpots = new LinkedList<>();
         meepleList = new LinkedList<>();
         involvedPlayers = new HashMap<>();
+        id = -1; // not registered yet
     }
 
     /**
@@ -62,7 +64,7 @@ public abstract class GridPattern {
             }
             int baseValue = (getSize() + emblems) * scoreMultiplier; // needs to call get size for field calculation
             for (Player player : involvedPlayers.keySet()) { // dominant players split the pot
-                player.addScore((int) Math.ceil(baseValue / involvedPlayers.size()), patternType);
+                player.addScore((int) Math.ceil(baseValue / involvedPlayers.size()), patternType, id);
             }
             for (Meeple meeple : meepleList) {
                 meeple.removePlacement(); // remove meeples from tiles.
@@ -82,6 +84,15 @@ public abstract class GridPattern {
         }
     }
 
+    /**
+     * Getter for the id of the pattern, which is assigned by the {@link PatternRegistry} on registration. A pattern that
+     * is rebuilt after a placement gets a new id, which means the id only identifies this instance of the pattern.
+     * @return the id or -1 if the pattern was never registered.
+     */
+    public int getId() {
+        return id;
+    }
+
     /**
      * Getter for the meeple list.
      * @return the meeple list.
@@ -194,6 +205,14 @@ public abstract class GridPattern {
         }
     }
 
+    /**
+     * Sets the id of the pattern.
+     * @param id is the unique id within the {@link PatternRegistry}, which is not reused by later rebuilds.
+     */
+    void setId(int id) {
+        this.id = id;
+    }
+
     /**
      * Checks the usual inputs on being null.
      * @param spot is any grid spot.
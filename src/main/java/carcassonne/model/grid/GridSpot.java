@@ -15,9 +15,10 @@ import carcassonne.model.tile.Tile;
  * @author Timur Saglam
  */
 public class GridSpot {
-
+    private static final GridDirection[] NEIGHBORS = GridDirection.neighbors();
     private final Grid grid;
     private final Map<GridDirection, List<GridPattern>> tagMap; // maps tagged location to the patterns.
+    private int occupiedNeighbors; // amount of occupied spots around this spot.
     private Tile tile;
     private final int x;
     private final int y;
@@ -45,28 +46,26 @@ public class GridSpot {
     public List<GridPattern> createPatternList() {
         checkTile("createPatternList()");
         List<GridPattern> results = new LinkedList<>();
-        // first, check for castle and road patterns:
-        for (GridDirection direction : GridDirection.tilePositions()) {
-            TerrainType terrain = tile.getTerrain(direction); // get terrain type.
-            if ((terrain == TerrainType.CASTLE || terrain == TerrainType.ROAD) && hasNoTagConnectedTo(direction)) {
-                results.add(new CastleAndRoadPattern(this, direction, terrain, grid));
-            }
-        }
-        // then, check fields:
-        for (GridDirection direction : GridDirection.values()) {
-            TerrainType terrain = tile.getTerrain(direction); // get terrain type.
-            if (terrain == TerrainType.FIELDS && hasNoTagConnectedTo(direction)) {
-                results.add(new FieldsPattern(this, direction, grid));
+        addCastleAndRoadPatterns(results); // first, check for castle and road patterns
+        addFieldsPatterns(results); // then, check fields
+        addMonasteryPattern(results); // then check for monastery patterns
+        for (GridDirection direction : NEIGHBORS) {
+            GridSpot neighbour = grid.getNeighbor(this, direction);
+            if (neighbour != null) {
+                neighbour.addMonasteryPattern(results); // neighbors
             }
         }
-        // then check for monastery patterns:
-        addPatternIfMonastery(this, results); // the tile itself
-        for (GridSpot neighbour : grid.getNeighbors(this, false, GridDirection.neighbors())) {
-            addPatternIfMonastery(neighbour, results); // neighbors
-        }
         return results; // return all patterns.
     }
 
+    /**
+     * Marks the spot as modified for the pattern registry of the grid. Needs to be called when the tile on this spot
+     * changes, e.g. when a meeple is placed on it or removed from it.
+     */
+    public void markModified() {
+        grid.getPatternRegistry().markModified(this);
+    }
+
     /**
      * Forces to place a tile on the grid spot.
      * @param tile is the tile to place.
@@ -76,6 +75,15 @@ public class GridSpot {
         tile.setPosition(this);
     }
 
+    /**
+     * Returns the amount of occupied spots among the eight spots surrounding this spot. The {@link Grid} keeps this value
+     * up to date on every placement, which allows reading monastery completion without querying the neighbors.
+     * @return the amount of occupied neighbors, between zero and eight.
+     */
+    public int getOccupiedNeighbors() {
+        return occupiedNeighbors;
+    }
+
     /**
      * Getter for the tile.
      * @return the tile, or null if the grid spot has no tile.
@@ -204,14 +212,50 @@ public class GridSpot {
         return getClass().getSimpleName() + "[on: (" + x + "|" + y + "), Occupied:" + isOccupied() + "]";
     }
 
-    private void addPatternIfMonastery(GridSpot spot, List<GridPattern> patternList) {
-        if (spot.getTile().getTerrain(MIDDLE) == TerrainType.MONASTERY) {
-            if (spot.hasNoTagConnectedTo(MIDDLE)) {
-                patternList.add(new MonasteryGridPattern(spot, grid));
+    /**
+     * Notifies the spot that one of its eight surrounding spots was occupied.
+     */
+    void addOccupiedNeighbor() {
+        occupiedNeighbors++;
+    }
+
+    /**
+     * Creates the castle and road patterns that start on this spot and adds them to a list.
+     * @param results is the list the patterns are added to.
+     */
+    void addCastleAndRoadPatterns(List<GridPattern> results) {
+        for (GridDirection direction : GridDirection.tilePositions()) {
+            TerrainType terrain = tile.getTerrain(direction); // get terrain type.
+            if ((terrain == TerrainType.CASTLE || terrain == TerrainType.ROAD) && hasNoTagConnectedTo(direction)) {
+                results.add(new CastleAndRoadPattern(this, direction, terrain, grid));
+            }
+        }
+    }
+
+    /**
+     * Creates the fields patterns that start on this spot and adds them to a list. Should be called after the castle and
+     * road patterns of the affected spots were created.
+     * @param results is the list the patterns are added to.
+     */
+    void addFieldsPatterns(List<GridPattern> results) {
+        for (GridDirection direction : GridDirection.values()) {
+            TerrainType terrain = tile.getTerrain(direction); // get terrain type.
+            if (terrain == TerrainType.FIELDS && hasNoTagConnectedTo(direction)) {
+                results.add(new FieldsPattern(this, direction, grid));
             }
         }
     }
 
+    /**
+     * Creates the monastery pattern of this spot and adds it to a list, if the tile is an untagged monastery.
+     * @param results is the list the pattern is added to.
+     */
+    void addMonasteryPattern(List<GridPattern> results) {
+        if (tile.getTerrain(MIDDLE) == TerrainType.MONASTERY && hasNoTagConnectedTo(MIDDLE)) {
+            results.add(new MonasteryGridPattern(this, grid));
+        }
+    }
+
     private void checkTile(String methodName) {
         if (isFree()) {
             throw new IllegalStateException("GridSpot is free, can't call " + methodName);
@@ -6,13 +6,14 @@ package carcassonne.model.grid;
 import static carcassonne.model.grid.GridDirection.MIDDLE;
 import static carcassonne.model.terrain.TerrainType.MONASTERY;
 
-import java.util.List;
-
 /**
- * This class represents a specific kind of grid pattern, the grid patterns for the terrain type MONASTERY.
+ * This class represents a specific kind of grid pattern, the grid patterns for the terrain type MONASTERY. Its size and
+ * completion are read from the occupied neighbor counter of the monastery spot, which is maintained by the grid.
  * @author Timur Saglam
  */
 public class MonasteryGridPattern extends GridPattern {
+    private static final int NEIGHBOR_COUNT = GridDirection.neighbors().length;
+    private final GridSpot monasterySpot;
 
     /**
      * Simple constructor that creates the pattern.
@@ -21,21 +22,18 @@ public class MonasteryGridPattern extends GridPattern {
      */
     public MonasteryGridPattern(GridSpot spot, Grid grid) {
         super(MONASTERY, 1);
+        checkArgs(spot, MIDDLE, grid);
         if (spot.getTile().getTerrain(MIDDLE) != MONASTERY) {
             throw new IllegalArgumentException("Can't create monastery pattern from non monastery tile");
         }
-        buildPattern(spot, grid);
+        monasterySpot = spot;
+        add(spot); // add monastery
+        spot.setTag(MIDDLE, this);
+        complete = spot.getOccupiedNeighbors() == NEIGHBOR_COUNT;
     }
 
-    private void buildPattern(GridSpot monasterySpot, Grid grid) {
-        List<GridSpot> neighbors = grid.getNeighbors(monasterySpot, false, GridDirection.neighbors());
-        add(monasterySpot); // add monastery
-        monasterySpot.setTag(MIDDLE, this);
-        for (GridSpot neighbor : neighbors) {
-            containedSpots.add(neighbor);
-        }
-        if (neighbors.size() == GridDirection.neighbors().length) {
-            complete = true;
-        }
+    @Override
+    public int getSize() {
+        return 1 + monasterySpot.getOccupiedNeighbors(); // the monastery itself and every surrounding tile
     }
 }
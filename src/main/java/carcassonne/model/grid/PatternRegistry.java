@@ -0,0 +1,245 @@
+package carcassonne.model.grid;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import carcassonne.model.Meeple;
+import carcassonne.model.Player;
+import carcassonne.model.terrain.TerrainType;
+
+/**
+ * Registry of all current {@link GridPattern}s of a {@link Grid}. It keeps secondary indexes by terrain type, occupying
+ * player, completion state and contained spot. Modified spots are only marked on placement and the affected patterns are
+ * rebuilt lazily on the next query, which means multiple changes during one turn only trigger one rebuild. A rebuild
+ * creates the castles and roads of all affected spots before any fields. Other than a scan spot by spot, a field can
+ * therefore never tag a castle that was not visited yet, which means such castles are scored at the end of the round.
+ * Every rebuilt pattern is a new instance with a new id, the ids are unique within the round but do not identify a
+ * pattern across rebuilds.
+ * @author Timur Saglam
+ */
+public class PatternRegistry {
+    private static final GridDirection[] NEIGHBORS = GridDirection.neighbors();
+    private final Grid grid;
+    private final Set<GridSpot> modifiedSpots;
+    private final Set<GridPattern> patterns;
+    private final Map<TerrainType, Set<GridPattern>> terrainIndex;
+    private final Map<Player, Set<GridPattern>> playerIndex;
+    private final Set<GridPattern> completePatterns;
+    private final Set<GridPattern> openPatterns;
+    private final Map<GridSpot, Set<GridPattern>> spotIndex;
+    private int nextPatternId;
+
+    /**
+     * Creates an empty registry for a specific grid.
+     * @param grid is the {@link Grid} whose patterns are registered.
+     */
+    public PatternRegistry(Grid grid) {
+        this.grid = grid;
+        modifiedSpots = new LinkedHashSet<>();
+        patterns = new LinkedHashSet<>();
+        terrainIndex = new EnumMap<>(TerrainType.class);
+        for (TerrainType terrain : TerrainType.values()) {
+            terrainIndex.put(terrain, new LinkedHashSet<>());
+        }
+        playerIndex = new HashMap<>();
+        completePatterns = new LinkedHashSet<>();
+        openPatterns = new LinkedHashSet<>();
+        spotIndex = new HashMap<>();
+    }
+
+    /**
+     * Returns all current patterns of the grid.
+     * @return the list of patterns.
+     */
+    public List<GridPattern> getPatterns() {
+        refresh();
+        return new ArrayList<>(patterns);
+    }
+
+    /**
+     * Returns all current patterns of a specific terrain type.
+     * @param terrain is the specific {@link TerrainType}.
+     * @return the list of patterns.
+     */
+    public List<GridPattern> getPatterns(TerrainType terrain) {
+        refresh();
+        return new ArrayList<>(terrainIndex.get(terrain));
+    }
+
+    /**
+     * Returns all current patterns where a specific player has at least one meeple.
+     * @param player is the specific {@link Player}.
+     * @return the list of patterns.
+     */
+    public List<GridPattern> getPatternsOccupiedBy(Player player) {
+        refresh();
+        return new ArrayList<>(playerIndex.getOrDefault(player, new LinkedHashSet<>()));
+    }
+
+    /**
+     * Returns all current patterns with a specific completion state.
+     * @param complete specifies whether complete or open patterns are returned.
+     * @return the list of patterns.
+     */
+    public List<GridPattern> getPatterns(boolean complete) {
+        refresh();
+        return new ArrayList<>(complete ? completePatterns : openPatterns);
+    }
+
+    /**
+     * Returns all current patterns that contain a specific spot.
+     * @param spot is the specific {@link GridSpot}.
+     * @return the list of patterns.
+     */
+    public List<GridPattern> getPatternsOn(GridSpot spot) {
+        refresh();
+        return new ArrayList<>(spotIndex.getOrDefault(spot, new LinkedHashSet<>()));
+    }
+
+    /**
+     * Returns all current patterns that contain at least one spot within a specific distance of a spot.
+     * @param spot is the center {@link GridSpot}.
+     * @param distance is the maximal distance in tiles, measured horizontally, vertically or diagonally.
+     * @return the list of patterns.
+     */
+    public List<GridPattern> getPatternsNear(GridSpot spot, int distance) {
+        refresh();
+        Set<GridPattern> results = new LinkedHashSet<>();
+        for (int y = spot.getY() - distance; y <= spot.getY() + distance; y++) {
+            for (int x = spot.getX() - distance; x <= spot.getX() + distance; x++) {
+                if (grid.isOnGrid(x, y)) {
+                    results.addAll(spotIndex.getOrDefault(grid.getSpot(x, y), new LinkedHashSet<>()));
+                }
+            }
+        }
+        return new ArrayList<>(results);
+    }
+
+    /**
+     * Returns all current patterns that match every given criterion. Criteria that are null are ignored.
+     * @param terrain is the required {@link TerrainType} or null.
+     * @param player is the {@link Player} that has to occupy the pattern or null.
+     * @param complete is the required completion state or null.
+     * @return the list of matching patterns.
+     */
+    public List<GridPattern> query(TerrainType terrain, Player player, Boolean complete) {
+        refresh();
+        Collection<GridPattern> candidates = patterns;
+        if (terrain != null) {
+            candidates = smallerOf(candidates, terrainIndex.get(terrain));
+        }
+        if (player != null) {
+            candidates = smallerOf(candidates, playerIndex.getOrDefault(player, new LinkedHashSet<>()));
+        }
+        if (complete != null) {
+            candidates = smallerOf(candidates, complete ? completePatterns : openPatterns);
+        }
+        List<GridPattern> results = new ArrayList<>();
+        for (GridPattern pattern : candidates) {
+            boolean matchesTerrain = terrain == null || pattern.patternType == terrain;
+            boolean matchesPlayer = player == null || pattern.isOccupiedBy(player);
+            boolean matchesCompletion = complete == null || pattern.isComplete() == complete;
+            if (matchesTerrain && matchesPlayer && matchesCompletion) {
+                results.add(pattern);
+            }
+        }
+        return results;
+    }
+
+    /**
+     * Marks a spot as modified, which means the patterns on and around it are rebuilt before the next query.
+     * @param spot is the modified {@link GridSpot}.
+     */
+    public void markModified(GridSpot spot) {
+        modifiedSpots.add(spot);
+    }
+
+    // rebuilds all patterns on the modified spots and their occupied neighbors.
+    private void refresh() {
+        if (modifiedSpots.isEmpty()) {
+            return;
+        }
+        Set<GridSpot> affectedSpots = new LinkedHashSet<>();
+        for (GridSpot spot : modifiedSpots) {
+            affectedSpots.add(spot);
+            for (GridDirection direction : NEIGHBORS) {
+                GridSpot neighbor = grid.getNeighbor(spot, direction);
+                if (neighbor != null) {
+                    affectedSpots.add(neighbor); // patterns merged by the placement and monasteries around it
+                }
+            }
+        }
+        modifiedSpots.clear();
+        affectedSpots.removeIf(it -> it.isFree());
+        unregisterPatternsOn(affectedSpots);
+        List<GridPattern> newPatterns = new LinkedList<>(); // tags prevent duplicates
+        affectedSpots.forEach(it -> it.addCastleAndRoadPatterns(newPatterns)); // castles of all spots before fields
+        Set<GridSpot> castleSpots = new LinkedHashSet<>(); // fields adjacent to complete castles change their size
+        for (GridPattern pattern : newPatterns) {
+            if (pattern.patternType == TerrainType.CASTLE && pattern.isComplete()) {
+                castleSpots.addAll(pattern.containedSpots);
+            }
+        }
+        castleSpots.removeAll(affectedSpots);
+        unregisterPatternsOn(castleSpots);
+        castleSpots.forEach(it -> it.addCastleAndRoadPatterns(newPatterns));
+        affectedSpots.addAll(castleSpots);
+        affectedSpots.forEach(it -> it.addFieldsPatterns(newPatterns)); // fields can tag castles of their neighbors
+        affectedSpots.forEach(it -> it.addMonasteryPattern(newPatterns));
+        for (GridPattern pattern : newPatterns) {
+            pattern.removeTileTags(); // IMPORTANT
+        }
+        newPatterns.forEach(it -> register(it));
+    }
+
+    private void unregisterPatternsOn(Set<GridSpot> spots) {
+        for (GridSpot spot : spots) {
+            for (GridPattern pattern : new ArrayList<>(spotIndex.getOrDefault(spot, new LinkedHashSet<>()))) {
+                unregister(pattern);
+            }
+        }
+    }
+
+    private void register(GridPattern pattern) {
+        pattern.setId(nextPatternId++);
+        patterns.add(pattern);
+        terrainIndex.get(pattern.patternType).add(pattern);
+        (pattern.isComplete() ? completePatterns : openPatterns).add(pattern);
+        for (Meeple meeple : pattern.getMeepleList()) {
+            playerIndex.computeIfAbsent(meeple.getOwner(), key -> new LinkedHashSet<>()).add(pattern);
+        }
+        for (GridSpot spot : pattern.containedSpots) {
+            spotIndex.computeIfAbsent(spot, key -> new LinkedHashSet<>()).add(pattern); // spots can occur multiple times
+        }
+    }
+
+    private void unregister(GridPattern pattern) {
+        patterns.remove(pattern);
+        terrainIndex.get(pattern.patternType).remove(pattern);
+        completePatterns.remove(pattern); // the state might have changed after registration
+        openPatterns.remove(pattern);
+        for (Meeple meeple : pattern.getMeepleList()) {
+            Set<GridPattern> playerPatterns = playerIndex.get(meeple.getOwner());
+            if (playerPatterns != null) {
+                playerPatterns.remove(pattern);
+            }
+        }
+        for (GridSpot spot : pattern.containedSpots) {
+            Set<GridPattern> spotPatterns = spotIndex.get(spot);
+            if (spotPatterns != null) {
+                spotPatterns.remove(pattern);
+            }
+        }
+    }
+
+    private Collection<GridPattern> smallerOf(Collection<GridPattern> first, Collection<GridPattern> second) {
+        return first.size() <= second.size() ? first : second;
+    }
+}
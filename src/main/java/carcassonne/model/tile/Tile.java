@@ -83,6 +83,14 @@ public class Tile {
         return terrain.at(direction);
     }
 
+    /**
+     * Getter for the rotation of the tile.
+     * @return the amount of 90 degree turns to the right, in the range of [0, 3].
+     */
+    public int getRotation() {
+        return rotation;
+    }
+
     /**
      * Getter for the tile type.
      * @return the type
@@ -171,6 +179,9 @@ public class Tile {
             meeple = player.getMeeple();
             meeple.setLocation(this);
             meeple.setPosition(position);
+            if (isPlaced()) {
+                gridSpot.markModified(); // the occupation of the patterns on this spot changed
+            }
         } else {
             throw new IllegalArgumentException("Tile can not have already a meeple placed on it: " + toString());
         }
@@ -183,14 +194,16 @@ public class Tile {
         if (meeple == null) {
             throw new IllegalStateException("Meeple has already been removed.");
         }
-        meeple.removePlacement();
-        meeple = null;
+        Meeple removed = meeple;
+        meeple = null; // clear first, the meeple does not need to remove itself from this tile again
+        removed.removePlacement();
     }
 
     /**
      * Turns a tile 90 degree to the left.
      */
     public void rotateLeft() {
+        rotation = (rotation + 3) % 4;
         terrain.rotateLeft();
         tileDepiction.rotateLeft();
     }
@@ -199,6 +212,7 @@ public class Tile {
      * Turns a tile 90 degree to the right.
      */
     public void rotateRight() {
+        rotation = (rotation + 1) % 4;
         terrain.rotateRight();
         tileDepiction.rotateRight();
     }
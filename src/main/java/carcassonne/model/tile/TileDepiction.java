@@ -1,27 +1,29 @@
 package carcassonne.model.tile;
 
 import java.awt.image.BufferedImage;
-import java.io.File;
-import java.io.IOException;
-import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Map;
 
-import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 
 import carcassonne.settings.GameSettings;
-import carcassonne.view.GameMessage;
+import carcassonne.view.AssetRegistry;
 import carcassonne.view.PaintShop;
 
 /**
  * This class manages the graphical representation of a {@link Tile}. Additionally, it stores the rotation state of the
- * graphical representation.
+ * graphical representation. Only the base image of every tile type is loaded, the other rotations are rotated in memory
+ * on the first request and shared by all depictions of the same tile type.
  * @author Timur Saglam
  */
 public class TileDepiction {
     private static final int IMAGES_PER_TILE = 4;
+    private static final Map<TileType, ImageIcon[]> IMAGE_CACHE = new EnumMap<>(TileType.class);
+    private static final Map<TileType, ImageIcon[]> EMBLEM_IMAGE_CACHE = new EnumMap<>(TileType.class);
+    private static PaintShop paintShop; // shared by all depictions, only used to rotate images and paint emblems
 
-    private final ArrayList<ImageIcon> images;
-    private final PaintShop paintShop;
+    private final TileType tileType;
+    private final boolean hasEmblem;
     private int rotation;
 
     /**
@@ -30,16 +32,8 @@ public class TileDepiction {
      * @param hasEmblem determines whether the tile representation includes an emblem.
      */
     public TileDepiction(TileType tileType, boolean hasEmblem) {
-        images = new ArrayList<>(IMAGES_PER_TILE); // create image array.
-        paintShop = new PaintShop();
-        for (int index = 0; index < IMAGES_PER_TILE; index++) { // for every image
-            String imagePath = GameSettings.TILE_FOLDER_PATH + tileType.name() + index + GameSettings.TILE_FILE_TYPE;
-            if (hasEmblem) {
-                loadImageAndPaintEmblem(imagePath);
-            } else {
-                images.add(new ImageIcon(imagePath));
-            }
-        }
+        this.tileType = tileType;
+        this.hasEmblem = hasEmblem;
     }
 
     /**
@@ -47,7 +41,7 @@ public class TileDepiction {
      * @return the {@link ImageIcon} which is the current depiction.
      */
     public ImageIcon getCurrentDepiction() {
-        return images.get(rotation);
+        return getImages(tileType, hasEmblem)[rotation];
     }
 
     /**
@@ -64,14 +58,33 @@ public class TileDepiction {
         rotation = rotation >= 3 ? 0 : rotation + 1; // update rotation indicator
     }
 
-    private void loadImageAndPaintEmblem(String imagePath) {
-        File file = new File(imagePath);
-        try {
-            BufferedImage image = ImageIO.read(file);
-            images.add(paintShop.addEmblem(image));
-        } catch (IOException exception) {
-            exception.printStackTrace();
-            GameMessage.showError("ERROR: Could not load image loacted at " + imagePath);
+    private static synchronized ImageIcon[] getImages(TileType tileType, boolean hasEmblem) {
+        Map<TileType, ImageIcon[]> cache = hasEmblem ? EMBLEM_IMAGE_CACHE : IMAGE_CACHE;
+        ImageIcon[] images = cache.get(tileType);
+        if (images == null) {
+            images = createImages(tileType, hasEmblem);
+            cache.put(tileType, images);
+        }
+        return images;
+    }
+
+    // rotates the base image to the right, the emblem is added after the rotation to keep it in the same corner.
+    private static ImageIcon[] createImages(TileType tileType, boolean hasEmblem) {
+        if (paintShop == null) {
+            paintShop = new PaintShop();
+        }
+        ImageIcon[] images = new ImageIcon[IMAGES_PER_TILE];
+        BufferedImage image = AssetRegistry.getImage(GameSettings.TILE_FOLDER_PATH + tileType.name() + GameSettings.TILE_FILE_TYPE);
+        for (int index = 0; index < IMAGES_PER_TILE; index++) {
+            if (image == null) {
+                images[index] = new ImageIcon(); // loading error was already shown
+            } else {
+                if (index > 0) {
+                    image = paintShop.rotateRight(image);
+                }
+                images[index] = hasEmblem ? paintShop.addEmblem(image) : new ImageIcon(image);
+            }
         }
+        return images;
     }
 }
@@ -2,9 +2,12 @@ package carcassonne.model.tile;
 
 import static java.util.stream.Collectors.toList;
 
+import java.util.ArrayList;
 import java.util.Collections;
 import java.util.LinkedList;
+import java.util.List;
 import java.util.Queue;
+import java.util.SplittableRandom;
 import java.util.Stack;
 
 /**
@@ -17,6 +20,7 @@ public class TileStack {
     private Stack<Integer> randomAmounts;
     private final double multiplicator;
     private final boolean useFixedAmounts;
+    private final SplittableRandom random;
 
     /**
      * Simple constructor, creates the default fixed-amount stack.
@@ -32,13 +36,38 @@ public class TileStack {
      * @param useFixedAmounts specifies whether the amount of the different tile types should be fixed or random.
      */
     public TileStack(int players, boolean useFixedAmounts) {
+        this(players, useFixedAmounts, new SplittableRandom());
+    }
+
+    /**
+     * Constructor which allows specifying the stack type and the source of randomness.
+     * @param players is the amount of player for which this tile stack is intended.
+     * @param useFixedAmounts specifies whether the amount of the different tile types should be fixed or random.
+     * @param random is the random generator for the amounts and the order of the tiles, which is owned by the stack.
+     */
+    public TileStack(int players, boolean useFixedAmounts, SplittableRandom random) {
         this.useFixedAmounts = useFixedAmounts;
+        this.random = random;
         multiplicator = 0.4 + players * 0.3;
         tiles = new Stack<>();
         returnedTiles = new LinkedList<>();
         fillStack();
     }
 
+    /**
+     * Constructor which restores a stack with a specific order, e.g. of a saved game.
+     * @param tiles are the tiles of the stack, the last tile is drawn first.
+     * @param returnedTiles are the tiles that were put back under the stack, the first tile is drawn first.
+     */
+    public TileStack(List<Tile> tiles, List<Tile> returnedTiles) {
+        useFixedAmounts = true;
+        multiplicator = 1;
+        random = null; // the order is already given
+        this.tiles = new Stack<>();
+        this.tiles.addAll(tiles);
+        this.returnedTiles = new LinkedList<>(returnedTiles);
+    }
+
     /**
      * Draws random tile from the stack and returns it
      * @return the tile or null if the stack is empty.
@@ -75,6 +104,22 @@ public class TileStack {
         return tiles.size() + returnedTiles.size();
     }
 
+    /**
+     * Returns the tiles of the stack in their order.
+     * @return a copy of the tile list, the last tile is drawn first.
+     */
+    public List<Tile> getTiles() {
+        return new ArrayList<>(tiles);
+    }
+
+    /**
+     * Returns the tiles that were put back under the stack in their order.
+     * @return a copy of the tile list, the first tile is drawn first.
+     */
+    public List<Tile> getReturnedTiles() {
+        return new ArrayList<>(returnedTiles);
+    }
+
     /**
      * Checks whether the tile stack is empty.
      * @return true if empty.
@@ -90,7 +135,7 @@ public class TileStack {
                 tiles.add(new Tile(tileType));
             }
         }
-        Collections.shuffle(tiles);
+        shuffle(tiles);
     }
 
     private int getAmount(TileType tileType) {
@@ -117,10 +162,10 @@ public class TileStack {
     // re-shuffles the stack and tries again. Use random number between 1 and 8 after a certain amount of tries.
     private double getPseudoRandomAmount(TileType tileType, int shuffles) {
         if (shuffles > 0) {
-            Collections.shuffle(randomAmounts);
+            shuffle(randomAmounts);
             return getRandomAmount(tileType, shuffles - 1);
         } else {
-            return (int) (1 + Math.random() * 7);
+            return 1 + random.nextInt(7);
         }
     }
 
@@ -129,7 +174,14 @@ public class TileStack {
         if (randomAmounts == null) { // if random amounts where not generated
             randomAmounts = new Stack<>(); // get all standard amounts in a stack
             randomAmounts.addAll(TileType.validTiles().stream().map(it -> it.getAmount()).collect(toList()));
-            Collections.shuffle(randomAmounts);
+            shuffle(randomAmounts);
+        }
+    }
+
+    // Fisher-Yates shuffle with the generator of the stack, Collections.shuffle() only accepts a java.util.Random.
+    private <T> void shuffle(List<T> list) {
+        for (int index = list.size() - 1; index > 0; index--) {
+            Collections.swap(list, index, random.nextInt(index + 1));
         }
     }
 }
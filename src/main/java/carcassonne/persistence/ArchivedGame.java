@@ -0,0 +1,121 @@
+package carcassonne.persistence;
+
+import java.nio.ByteBuffer;
+
+import carcassonne.model.terrain.TerrainType;
+
+/**
+ * View of a game in a {@link GameArchive}, which reads the fixed-width header of the game directly from the mapped data
+ * file. Creating a view does not copy any data.
+ * @author Timur Saglam
+ */
+public class ArchivedGame {
+    private final long id;
+    private final ByteBuffer segment;
+    private final int position;
+
+    /**
+     * Creates a view of an archived game.
+     * @param id is the identifier of the game, which is its offset in the data file.
+     * @param segment is the mapped segment of the data file that contains the game.
+     * @param position is the position of the game in the segment.
+     */
+    ArchivedGame(long id, ByteBuffer segment, int position) {
+        this.id = id;
+        this.segment = segment;
+        this.position = position;
+    }
+
+    /**
+     * Getter for the identifier of the game, which allows to get the game from the archive again.
+     * @return the identifier.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Getter for the seed of the game.
+     * @return the seed of the round, which determined its tile stack.
+     */
+    public long getSeed() {
+        return segment.getLong(position + GameArchive.SEED_OFFSET);
+    }
+
+    /**
+     * Getter for the amount of players.
+     * @return the player count.
+     */
+    public int getPlayerCount() {
+        return segment.get(position + GameArchive.PLAYERS_OFFSET);
+    }
+
+    /**
+     * Checks whether the game was played in chaos mode.
+     * @return true if it was.
+     */
+    public boolean isChaosMode() {
+        return segment.get(position + GameArchive.CHAOS_OFFSET) != 0;
+    }
+
+    /**
+     * Getter for the winner of the game. If multiple players have the highest score, the first of them is returned.
+     * @return the number of the winning player.
+     */
+    public int getWinner() {
+        return segment.get(position + GameArchive.WINNER_OFFSET);
+    }
+
+    /**
+     * Getter for the amount of turns.
+     * @return the amount of completed turns.
+     */
+    public int getTurns() {
+        return segment.getInt(position + GameArchive.TURNS_OFFSET);
+    }
+
+    /**
+     * Getter for the score of the winner.
+     * @return the final score of the winning player.
+     */
+    public int getWinnerScore() {
+        return getScore(getWinner());
+    }
+
+    /**
+     * Getter for the final score of a player.
+     * @param player is the number of the player.
+     * @return the sum of the terrain scores of the player.
+     */
+    public int getScore(int player) {
+        int score = 0;
+        for (TerrainType terrain : TerrainType.basicTerrain()) {
+            score += getTerrainScore(player, terrain);
+        }
+        return score;
+    }
+
+    /**
+     * Getter for the final score of a player for a specific terrain.
+     * @param player is the number of the player.
+     * @param terrain is the basic terrain, see {@link TerrainType#basicTerrain()}.
+     * @return the score of the player for the terrain.
+     */
+    public int getTerrainScore(int player, TerrainType terrain) {
+        if (player < 0 || player >= getPlayerCount() || terrain == TerrainType.OTHER) {
+            throw new IllegalArgumentException("No score for player " + player + " and terrain " + terrain);
+        }
+        return segment.getInt(position + GameArchive.scoreOffset(player, terrain));
+    }
+
+    /**
+     * Returns the moves of the game, which consist of the records of every turn in the format of the game journal.
+     * @return a new read-only buffer with the records.
+     */
+    public ByteBuffer getMoves() {
+        ByteBuffer moves = segment.duplicate();
+        int start = position + GameArchive.RECORD_HEADER_SIZE;
+        moves.limit(start + segment.getInt(position + GameArchive.MOVES_SIZE_OFFSET)).position(start);
+        return moves.slice().asReadOnlyBuffer();
+    }
+}
@@ -0,0 +1,113 @@
+package carcassonne.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+import carcassonne.control.GameEventListener;
+import carcassonne.model.Player;
+import carcassonne.model.Round;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.Tile;
+
+/**
+ * Saves the running round in the background at the start of every turn, in the format of the {@link RoundSerializer}.
+ * The snapshot is taken on the thread of the game, after the tile of the new turn was drawn. It is a serialized copy of a
+ * few hundred bytes, which the game can not change afterwards. A single background thread writes the snapshot, which
+ * means saving never blocks the user interface. There is only one slot for snapshots that are waiting to be written: if
+ * turns end faster than the snapshots are written, only the latest one is written. The file is replaced atomically and
+ * deleted when the round ends. Errors are printed and the next turn tries again.
+ * @author Timur Saglam
+ */
+public class AutoSave implements GameEventListener {
+    private final Path file;
+    private final AtomicReference<ByteBuffer> pendingSnapshot;
+    private final ExecutorService writer;
+    private Round round;
+
+    /**
+     * Creates an automatic save, which writes to a specific file as soon as a round is started.
+     * @param file is the path of the save file.
+     */
+    public AutoSave(Path file) {
+        this.file = file;
+        pendingSnapshot = new AtomicReference<>();
+        writer = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "Autosave");
+            thread.setDaemon(true); // the file is replaced atomically, an interrupted write does no harm
+            return thread;
+        });
+    }
+
+    @Override
+    public void roundStarted(Round round) {
+        this.round = round;
+        save();
+    }
+
+    @Override
+    public void tileDrawn(Tile tile, Player player) {
+        save();
+    }
+
+    @Override
+    public void tilePlaced(Tile tile, int x, int y) {
+        // saved at the start of the next turn
+    }
+
+    @Override
+    public void meeplePlaced(Tile tile, GridDirection position, Player player) {
+        // saved at the start of the next turn
+    }
+
+    @Override
+    public void tileSkipped(Tile tile) {
+        // saved at the start of the next turn
+    }
+
+    @Override
+    public void patternScored(Player player, TerrainType terrain, int amount) {
+        // saved at the start of the next turn
+    }
+
+    @Override
+    public void turnEnded(Round round) {
+        // saved when the tile of the next turn is drawn
+    }
+
+    @Override
+    public void roundEnded(Round round) {
+        this.round = null;
+        pendingSnapshot.set(null); // waiting snapshots are outdated
+        writer.execute(() -> {
+            try {
+                Files.deleteIfExists(file);
+            } catch (IOException exception) {
+                exception.printStackTrace();
+            }
+        });
+    }
+
+    // takes the snapshot and only schedules a write if no earlier snapshot is still waiting, which then writes this one.
+    private void save() {
+        if (pendingSnapshot.getAndSet(RoundSerializer.serialize(round)) == null) {
+            writer.execute(this::writePendingSnapshot);
+        }
+    }
+
+    private void writePendingSnapshot() {
+        ByteBuffer snapshot = pendingSnapshot.getAndSet(null);
+        if (snapshot != null) {
+            try {
+                RoundSerializer.write(snapshot, file);
+            } catch (IOException exception) {
+                exception.printStackTrace();
+            }
+        }
+    }
+}
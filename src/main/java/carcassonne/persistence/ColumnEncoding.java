@@ -0,0 +1,122 @@
+package carcassonne.persistence;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Encodings for the columns of a game export. All values are written as zigzag variable-length integers, which means
+ * small positive and negative values only need a single byte.
+ * @author Timur Saglam
+ */
+enum ColumnEncoding {
+    /**
+     * Every value on its own, for columns without any order, e.g. the tile types.
+     */
+    PLAIN,
+    /**
+     * Pairs of a value and the amount of its repetitions, for columns that rarely change, e.g. the game of a turn.
+     */
+    RUN_LENGTH,
+    /**
+     * The difference to the previous value, for columns with close neighbors, e.g. the turn numbers or positions.
+     */
+    DELTA;
+
+    private static final int MAXIMAL_VARINT_SIZE = 10; // 64 bit in groups of 7 bit
+
+    /**
+     * Calculates the maximal size of an encoded column, independent of the encoding.
+     * @param count is the amount of values of the column.
+     * @return the size in bytes.
+     */
+    static int maximalSize(int count) {
+        return 2 * MAXIMAL_VARINT_SIZE * count;
+    }
+
+    /**
+     * Encodes the values of a column.
+     * @param values are the values of the column.
+     * @param count is the amount of values to encode, starting at the first value.
+     * @param target is the buffer to write to, which needs at least {@link #maximalSize(int)} remaining bytes.
+     */
+    void encode(long[] values, int count, ByteBuffer target) {
+        long previous = 0;
+        int index = 0;
+        while (index < count) {
+            long value = values[index];
+            switch (this) {
+            case PLAIN:
+                putVarLong(target, value);
+                index++;
+                break;
+            case RUN_LENGTH:
+                int run = 1;
+                while (index + run < count && values[index + run] == value) {
+                    run++;
+                }
+                putVarLong(target, value);
+                putVarLong(target, run);
+                index += run;
+                break;
+            default: // delta
+                putVarLong(target, value - previous);
+                previous = value;
+                index++;
+            }
+        }
+    }
+
+    /**
+     * Decodes the values of a column.
+     * @param source is the buffer with the encoded column.
+     * @param values is the array for the decoded values, which needs space for at least count values.
+     * @param count is the amount of encoded values.
+     * @throws IllegalArgumentException if the encoded column is invalid.
+     * @throws java.nio.BufferUnderflowException if the encoded column is incomplete.
+     */
+    void decode(ByteBuffer source, long[] values, int count) {
+        long previous = 0;
+        int index = 0;
+        while (index < count) {
+            long value = getVarLong(source);
+            switch (this) {
+            case PLAIN:
+                values[index++] = value;
+                break;
+            case RUN_LENGTH:
+                long run = getVarLong(source);
+                if (run <= 0 || run > count - index) {
+                    throw new IllegalArgumentException("Invalid run length: " + run);
+                }
+                for (long end = index + run; index < end; index++) {
+                    values[index] = value;
+                }
+                break;
+            default: // delta
+                previous += value;
+                values[index++] = previous;
+            }
+        }
+    }
+
+    // writes a zigzag-encoded value in groups of seven bits, the highest bit marks that another group follows.
+    private static void putVarLong(ByteBuffer target, long value) {
+        long bits = value << 1 ^ value >> 63;
+        while ((bits & ~0x7FL) != 0) {
+            target.put((byte) (bits & 0x7F | 0x80));
+            bits >>>= 7;
+        }
+        target.put((byte) bits);
+    }
+
+    private static long getVarLong(ByteBuffer source) {
+        long bits = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte group = source.get();
+            bits |= (long) (group & 0x7F) << shift;
+            if (group >= 0) {
+                return bits >>> 1 ^ -(bits & 1);
+            }
+        }
+        throw new IllegalArgumentException("Variable-length integer is too long");
+    }
+}
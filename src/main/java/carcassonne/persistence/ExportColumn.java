@@ -0,0 +1,94 @@
+package carcassonne.persistence;
+
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Enumeration for the columns of a game export, see {@link GameExporter}. Every column belongs to one of two tables:
+ * the games table has one row per game, where the n-th row belongs to the n-th game of the file, and the turns table has
+ * one row per completed turn. Missing values, e.g. the position of a skipped tile, are stored as -1.
+ * @author Timur Saglam
+ */
+public enum ExportColumn {
+    GAME_SEED(Table.GAMES, ColumnEncoding.PLAIN),
+    GAME_PLAYERS(Table.GAMES, ColumnEncoding.RUN_LENGTH),
+    GAME_CHAOS(Table.GAMES, ColumnEncoding.RUN_LENGTH),
+    GAME_FINISHED(Table.GAMES, ColumnEncoding.RUN_LENGTH),
+    GAME_TURNS(Table.GAMES, ColumnEncoding.PLAIN),
+    GAME_WINNER(Table.GAMES, ColumnEncoding.PLAIN),
+    GAME_WINNER_SCORE(Table.GAMES, ColumnEncoding.PLAIN),
+    TURN_GAME(Table.TURNS, ColumnEncoding.RUN_LENGTH),
+    TURN_NUMBER(Table.TURNS, ColumnEncoding.DELTA),
+    TURN_PLAYER(Table.TURNS, ColumnEncoding.PLAIN),
+    TURN_TILE(Table.TURNS, ColumnEncoding.PLAIN),
+    TURN_X(Table.TURNS, ColumnEncoding.DELTA),
+    TURN_Y(Table.TURNS, ColumnEncoding.DELTA),
+    TURN_ROTATION(Table.TURNS, ColumnEncoding.PLAIN),
+    TURN_MEEPLE(Table.TURNS, ColumnEncoding.RUN_LENGTH),
+    TURN_SCORE(Table.TURNS, ColumnEncoding.RUN_LENGTH),
+    TURN_OPPONENT_SCORE(Table.TURNS, ColumnEncoding.RUN_LENGTH);
+
+    private static final Map<Table, List<ExportColumn>> COLUMNS = new EnumMap<>(Table.class);
+    private final Table table;
+    private final ColumnEncoding encoding;
+    private int index; // position in the table, set once all columns exist
+
+    static {
+        for (Table table : Table.values()) {
+            COLUMNS.put(table, new ArrayList<>());
+        }
+        for (ExportColumn column : values()) {
+            List<ExportColumn> tableColumns = COLUMNS.get(column.table);
+            column.index = tableColumns.size();
+            tableColumns.add(column);
+        }
+    }
+
+    ExportColumn(Table table, ColumnEncoding encoding) {
+        this.table = table;
+        this.encoding = encoding;
+    }
+
+    /**
+     * Returns all columns of a table in the order in which they are stored.
+     * @param table is the table.
+     * @return the list of columns.
+     */
+    public static List<ExportColumn> columnsOf(Table table) {
+        return new ArrayList<>(COLUMNS.get(table));
+    }
+
+    /**
+     * Getter for the table of the column.
+     * @return the table to which the column belongs.
+     */
+    public Table getTable() {
+        return table;
+    }
+
+    /**
+     * Getter for the index of the column in its table.
+     * @return the index, starting at zero.
+     */
+    int getIndex() {
+        return index;
+    }
+
+    /**
+     * Getter for the encoding of the column.
+     * @return the {@link ColumnEncoding}.
+     */
+    ColumnEncoding getEncoding() {
+        return encoding;
+    }
+
+    /**
+     * Enumeration for the tables of a game export.
+     */
+    public enum Table {
+        GAMES,
+        TURNS;
+    }
+}
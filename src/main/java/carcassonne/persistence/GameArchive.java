@@ -0,0 +1,425 @@
+package carcassonne.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+import carcassonne.model.Round;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Local archive of finished games, which supports range queries over millions of games without loading them into the
+ * heap. The data file is an append-only sequence of games, each with a fixed-width header (seed, players, chaos mode,
+ * winner, turns and the terrain scores of every player) followed by its moves. The data file is memory-mapped in segments
+ * of {@link #SEGMENT_SIZE} bytes, a game never crosses a segment border. A separate index file contains one long per
+ * game, sorted by player count, chaos mode and winner score, with the offset of the game in the lowest bits. Queries use
+ * a binary search on the mapped index and only touch the headers of the games in the requested range.
+ * <p>
+ * New games are collected in memory and merged into the index when it is flushed, which happens automatically before
+ * queries, on {@link #close()} and every {@link #PENDING_LIMIT} games. The index also stores how much of the data file it
+ * covers, which means games that were appended after the last flush are indexed again when the archive is opened. An
+ * incomplete game at the end of the data file is cut off. Both can be checked with {@link #getRecoveredGameCount()} and
+ * {@link #getRemovedSize()}.
+ * @author Timur Saglam
+ */
+public class GameArchive implements Closeable {
+    /**
+     * The extension that is appended to the name of the data file for the name of the index file.
+     */
+    public static final String INDEX_FILE_EXTENSION = ".index";
+    /**
+     * The size of a mapped segment of the data file in bytes.
+     */
+    public static final long SEGMENT_SIZE = 1L << 30;
+    /**
+     * The maximal amount of games that are added before the index is flushed.
+     */
+    public static final int PENDING_LIMIT = 1 << 20;
+    static final int MOVES_SIZE_OFFSET = Integer.BYTES; // behind the record marker
+    static final int SEED_OFFSET = MOVES_SIZE_OFFSET + Integer.BYTES;
+    static final int PLAYERS_OFFSET = SEED_OFFSET + Long.BYTES;
+    static final int CHAOS_OFFSET = PLAYERS_OFFSET + Byte.BYTES;
+    static final int WINNER_OFFSET = CHAOS_OFFSET + Byte.BYTES;
+    static final int TURNS_OFFSET = WINNER_OFFSET + 2 * Byte.BYTES; // one byte padding
+    static final int SCORES_OFFSET = TURNS_OFFSET + Integer.BYTES;
+    static final int RECORD_HEADER_SIZE = SCORES_OFFSET + GameSettings.MAXIMAL_PLAYERS * TerrainType.basicTerrain().length * Integer.BYTES;
+    private static final int MAGIC_NUMBER = 0x43415243; // CARC
+    private static final int INDEX_MAGIC_NUMBER = 0x43494458; // CIDX
+    private static final short FORMAT_VERSION = 1;
+    private static final int RECORD_MARKER = 0x47414D45; // GAME, segment padding consists of zeros
+    private static final int FILE_HEADER_SIZE = Long.BYTES; // magic number, version and padding
+    private static final int INDEX_HEADER_SIZE = Long.BYTES + Long.BYTES; // magic number, version, padding and covered data
+    private static final int OFFSET_BITS = 40; // one terabyte of games
+    private static final int SCORE_BITS = 19;
+    private static final int CHAOS_BITS = 1;
+    private static final long OFFSET_MASK = (1L << OFFSET_BITS) - 1;
+    private static final int MAXIMAL_INDEXED_SCORE = (1 << SCORE_BITS) - 1;
+    private static final int MERGE_BUFFER_SIZE = 1 << 16;
+    private static final int INITIAL_PENDING_CAPACITY = 1 << 10; // grows up to the pending limit
+    private final Path indexFile;
+    private final FileChannel channel;
+    private final List<MappedByteBuffer> segments;
+    private long[] pending;
+    private int pendingCount;
+    private int recoveredGames;
+    private long removedSize;
+    private ByteBuffer index;
+    private long indexedSize; // part of the data file that is covered by the index file
+    private long coveredSize; // part of the data file that is covered by the index file and the pending games
+    private long dataSize;
+
+    /**
+     * Opens an archive or creates a new one. The index file is placed next to the data file.
+     * @param dataFile is the path of the data file.
+     * @throws IOException if the archive can not be opened or is not a game archive.
+     */
+    public GameArchive(Path dataFile) throws IOException {
+        indexFile = Paths.get(dataFile + INDEX_FILE_EXTENSION);
+        segments = new ArrayList<>();
+        pending = new long[0];
+        channel = FileChannel.open(dataFile, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        try {
+            ByteBuffer header = ByteBuffer.allocate(FILE_HEADER_SIZE);
+            if (channel.size() == 0) {
+                header.putInt(MAGIC_NUMBER).putShort(FORMAT_VERSION).clear(); // with padding
+                while (header.hasRemaining()) {
+                    channel.write(header);
+                }
+            } else if (channel.read(header, 0) < FILE_HEADER_SIZE || header.getInt(0) != MAGIC_NUMBER) {
+                throw new IOException("Not a game archive: " + dataFile);
+            } else if (header.getShort(Integer.BYTES) != FORMAT_VERSION) {
+                throw new IOException("Unsupported game archive version: " + header.getShort(Integer.BYTES));
+            }
+            dataSize = channel.size();
+            readIndex();
+            coveredSize = indexedSize;
+            indexRemainingGames();
+        } catch (IOException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Adds a finished game to the archive.
+     * @param recording is the recording of the finished game, which was recorded while it was played.
+     * @param chaosMode specifies whether the game was played in chaos mode.
+     * @return the identifier of the archived game.
+     * @throws IOException if the game can not be written.
+     */
+    public long add(GameRecording recording, boolean chaosMode) throws IOException {
+        Round round = recording.getRound();
+        if (!recording.isFinished() || round == null) {
+            throw new IllegalArgumentException("Only finished games that were recorded while playing can be archived");
+        }
+        ByteBuffer moves = recording.getMoves();
+        int size = RECORD_HEADER_SIZE + moves.remaining();
+        long offset = recordStart(dataSize, size);
+        int winner = 0;
+        for (int player = 1; player < round.getPlayerCount(); player++) {
+            if (round.getPlayer(player).getScore() > round.getPlayer(winner).getScore()) {
+                winner = player;
+            }
+        }
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        header.putInt(RECORD_MARKER).putInt(moves.remaining()).putLong(round.getSeed()).put((byte) round.getPlayerCount());
+        header.put((byte) (chaosMode ? 1 : 0)).put((byte) winner).put((byte) 0).putInt(recording.getTurnCount());
+        for (int player = 0; player < round.getPlayerCount(); player++) {
+            for (TerrainType terrain : TerrainType.basicTerrain()) {
+                header.putInt(scoreOffset(player, terrain), round.getPlayer(player).getTerrainScore(terrain));
+            }
+        }
+        header.clear();
+        ByteBuffer[] data = { ByteBuffer.allocate((int) (offset - dataSize)), header, moves };
+        channel.position(dataSize);
+        while (header.hasRemaining() || moves.hasRemaining()) {
+            channel.write(data);
+        }
+        dataSize = offset + size;
+        coveredSize = dataSize;
+        addToIndex(round.getPlayerCount(), chaosMode, round.getPlayer(winner).getScore(), offset);
+        return offset;
+    }
+
+    /**
+     * Returns a specific game of the archive.
+     * @param id is the identifier of the game.
+     * @return the view of the game.
+     * @throws IOException if the game can not be read.
+     */
+    public ArchivedGame get(long id) throws IOException {
+        if (id < FILE_HEADER_SIZE || id + RECORD_HEADER_SIZE > dataSize) {
+            throw new IllegalArgumentException("No archived game with the identifier " + id);
+        }
+        ByteBuffer segment = map(id, RECORD_HEADER_SIZE);
+        int position = (int) (id % SEGMENT_SIZE);
+        if (segment.getInt(position) != RECORD_MARKER) {
+            throw new IllegalArgumentException("No archived game with the identifier " + id);
+        }
+        return new ArchivedGame(id, map(id, RECORD_HEADER_SIZE + segment.getInt(position + MOVES_SIZE_OFFSET)), position);
+    }
+
+    /**
+     * Getter for the amount of archived games.
+     * @return the amount of games.
+     */
+    public long getGameCount() {
+        return getIndexSize() + pendingCount;
+    }
+
+    /**
+     * Getter for the amount of games that were not covered by the index file and were indexed again when the archive was
+     * opened, e.g. because the index file was missing or the game crashed before the index was flushed.
+     * @return the amount of recovered games.
+     */
+    public int getRecoveredGameCount() {
+        return recoveredGames;
+    }
+
+    /**
+     * Getter for the size of the incomplete game that was cut off from the end of the data file when the archive was
+     * opened.
+     * @return the amount of removed bytes, or 0 if the data file was complete.
+     */
+    public long getRemovedSize() {
+        return removedSize;
+    }
+
+    /**
+     * Executes an action for every game with a specific player count and chaos mode whose winner score lies in a range,
+     * in the order of the winner score. Example for all four player games where a player scored more than 30 points on
+     * fields:
+     *
+     * <pre>
+     * archive.query(4, false, 0, Integer.MAX_VALUE, game -&gt; hasFieldsScore(game, 30), game -&gt; ...);
+     * </pre>
+     * @param playerCount is the player count of the games.
+     * @param chaosMode specifies whether the games were played in chaos mode.
+     * @param minimalWinnerScore is the minimal winner score (inclusive).
+     * @param maximalWinnerScore is the maximal winner score (inclusive).
+     * @param filter is an additional condition for the games, which is checked on their headers.
+     * @param action is the action to execute for every matching game.
+     * @return the amount of matching games.
+     * @throws IOException if the archive can not be read or the index can not be flushed.
+     */
+    public long query(int playerCount, boolean chaosMode, int minimalWinnerScore, int maximalWinnerScore, Predicate<ArchivedGame> filter,
+            Consumer<ArchivedGame> action) throws IOException {
+        flush();
+        long lowerBound = indexKey(playerCount, chaosMode, Math.max(0, minimalWinnerScore)) << OFFSET_BITS;
+        long upperBound = indexKey(playerCount, chaosMode, Math.min(maximalWinnerScore, MAXIMAL_INDEXED_SCORE)) << OFFSET_BITS | OFFSET_MASK;
+        long matches = 0;
+        for (long entry = findFirstEntry(lowerBound); entry < getIndexSize(); entry++) {
+            long value = getIndexEntry(entry);
+            if (value > upperBound) {
+                break;
+            }
+            ArchivedGame game = get(value & OFFSET_MASK);
+            if (filter.test(game)) {
+                action.accept(game);
+                matches++;
+            }
+        }
+        return matches;
+    }
+
+    /**
+     * Merges the games that were added since the last flush into the index file, which is replaced atomically.
+     * @throws IOException if the index can not be written.
+     */
+    public void flush() throws IOException {
+        if (pendingCount == 0 && indexedSize == coveredSize) {
+            return;
+        }
+        long entries = getIndexSize() + pendingCount;
+        if (INDEX_HEADER_SIZE + entries * Long.BYTES > Integer.MAX_VALUE) {
+            throw new IllegalStateException("The index of the game archive is full: " + entries);
+        }
+        channel.force(false); // the index must never cover games that are not written yet
+        Arrays.sort(pending, 0, pendingCount);
+        Path temporaryFile = Paths.get(indexFile + ".tmp");
+        try (FileChannel indexChannel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocateDirect(MERGE_BUFFER_SIZE);
+            buffer.putInt(INDEX_MAGIC_NUMBER).putShort(FORMAT_VERSION).putShort((short) 0).putLong(coveredSize);
+            long existing = 0;
+            int added = 0;
+            while (existing < getIndexSize() || added < pendingCount) {
+                if (added == pendingCount || existing < getIndexSize() && getIndexEntry(existing) <= pending[added]) {
+                    buffer.putLong(getIndexEntry(existing++));
+                } else {
+                    buffer.putLong(pending[added++]);
+                }
+                if (!buffer.hasRemaining()) {
+                    writeAll(indexChannel, buffer);
+                }
+            }
+            writeAll(indexChannel, buffer);
+            indexChannel.force(false);
+        }
+        Files.move(temporaryFile, indexFile, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        pendingCount = 0;
+        readIndex();
+    }
+
+    /**
+     * Flushes the index and closes the archive.
+     * @throws IOException if the index can not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            flush();
+        } finally {
+            channel.close();
+        }
+    }
+
+    /**
+     * Calculates the position of the score of a player for a terrain in the header of an archived game.
+     * @param player is the number of the player.
+     * @param terrain is the basic terrain.
+     * @return the position relative to the start of the game.
+     */
+    static int scoreOffset(int player, TerrainType terrain) {
+        return SCORES_OFFSET + (player * TerrainType.basicTerrain().length + terrain.ordinal()) * Integer.BYTES;
+    }
+
+    // the key occupies the highest bits of an index entry, scores above the indexed range share the highest key.
+    private static long indexKey(int playerCount, boolean chaosMode, int winnerScore) {
+        return ((long) playerCount << CHAOS_BITS | (chaosMode ? 1 : 0)) << SCORE_BITS | Math.min(winnerScore, MAXIMAL_INDEXED_SCORE);
+    }
+
+    // games are moved to the next segment if they would cross the border of a segment.
+    private static long recordStart(long offset, int size) {
+        if (size > SEGMENT_SIZE) {
+            throw new IllegalArgumentException("Game is too large for the archive: " + size);
+        }
+        long segmentEnd = (offset / SEGMENT_SIZE + 1) * SEGMENT_SIZE;
+        return offset + size > segmentEnd ? segmentEnd : offset;
+    }
+
+    private void addToIndex(int playerCount, boolean chaosMode, int winnerScore, long offset) throws IOException {
+        if (offset > OFFSET_MASK) {
+            throw new IllegalStateException("The game archive is full: " + offset);
+        }
+        if (pendingCount == pending.length) {
+            pending = Arrays.copyOf(pending, Math.min(PENDING_LIMIT, Math.max(INITIAL_PENDING_CAPACITY, 2 * pending.length)));
+        }
+        pending[pendingCount++] = indexKey(playerCount, chaosMode, winnerScore) << OFFSET_BITS | offset;
+        if (pendingCount == PENDING_LIMIT) {
+            flush();
+        }
+    }
+
+    // binary search for the first index entry that is not smaller than the bound.
+    private long findFirstEntry(long bound) {
+        long low = 0;
+        long high = getIndexSize();
+        while (low < high) {
+            long middle = (low + high) >>> 1;
+            if (getIndexEntry(middle) < bound) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    private long getIndexEntry(long entry) {
+        return index.getLong(INDEX_HEADER_SIZE + (int) entry * Long.BYTES);
+    }
+
+    private long getIndexSize() {
+        return (index.capacity() - INDEX_HEADER_SIZE) / Long.BYTES;
+    }
+
+    // maps the index file, a missing or foreign index is replaced by an empty index that covers no games.
+    private void readIndex() throws IOException {
+        index = ByteBuffer.allocate(INDEX_HEADER_SIZE);
+        indexedSize = FILE_HEADER_SIZE;
+        if (Files.isRegularFile(indexFile)) {
+            try (FileChannel indexChannel = FileChannel.open(indexFile, StandardOpenOption.READ)) {
+                long size = indexChannel.size();
+                if (size >= INDEX_HEADER_SIZE && size <= Integer.MAX_VALUE && (size - INDEX_HEADER_SIZE) % Long.BYTES == 0) {
+                    ByteBuffer mappedIndex = indexChannel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                    long coveredSize = mappedIndex.getLong(Long.BYTES);
+                    if (mappedIndex.getInt(0) == INDEX_MAGIC_NUMBER && mappedIndex.getShort(Integer.BYTES) == FORMAT_VERSION && coveredSize <= dataSize) {
+                        index = mappedIndex;
+                        indexedSize = coveredSize;
+                    }
+                }
+            }
+        }
+    }
+
+    // indexes the games behind the part of the data file that is covered by the index and cuts off an incomplete game.
+    private void indexRemainingGames() throws IOException {
+        long offset = indexedSize;
+        while (offset + RECORD_HEADER_SIZE <= dataSize) {
+            if (recordStart(offset, RECORD_HEADER_SIZE) != offset) {
+                offset = recordStart(offset, RECORD_HEADER_SIZE); // padding at the end of a segment
+                continue;
+            }
+            ByteBuffer segment = map(offset, RECORD_HEADER_SIZE);
+            int position = (int) (offset % SEGMENT_SIZE);
+            int marker = segment.getInt(position);
+            if (marker == 0 && offset % SEGMENT_SIZE != 0) {
+                offset = recordStart(offset, (int) SEGMENT_SIZE); // padding at the end of a segment
+                continue;
+            }
+            int movesSize = segment.getInt(position + MOVES_SIZE_OFFSET);
+            if (marker != RECORD_MARKER || movesSize < 0 || offset + RECORD_HEADER_SIZE + movesSize > dataSize) {
+                break;
+            }
+            ArchivedGame game = new ArchivedGame(offset, segment, position);
+            coveredSize = offset + RECORD_HEADER_SIZE + movesSize;
+            addToIndex(game.getPlayerCount(), game.isChaosMode(), game.getWinnerScore(), offset);
+            recoveredGames++;
+            offset = coveredSize;
+        }
+        if (offset < dataSize) {
+            removedSize = dataSize - offset;
+            segments.clear(); // mappings must not reach behind the end of the file
+            channel.truncate(offset);
+            dataSize = offset;
+            coveredSize = offset;
+        }
+    }
+
+    // returns the mapped segment that contains a range of the data file, the segment is mapped again if the file grew.
+    private ByteBuffer map(long offset, int size) throws IOException {
+        int segmentIndex = (int) (offset / SEGMENT_SIZE);
+        while (segments.size() <= segmentIndex) {
+            segments.add(null);
+        }
+        long segmentStart = segmentIndex * SEGMENT_SIZE;
+        MappedByteBuffer segment = segments.get(segmentIndex);
+        if (segment == null || segment.capacity() < offset + size - segmentStart) {
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, segmentStart, Math.min(SEGMENT_SIZE, dataSize - segmentStart));
+            segments.set(segmentIndex, segment);
+        }
+        return segment;
+    }
+
+    private static void writeAll(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+}
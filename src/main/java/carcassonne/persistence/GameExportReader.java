@@ -0,0 +1,162 @@
+package carcassonne.persistence;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+
+/**
+ * Reads selected columns of a file of the {@link GameExporter} block by block. Only the selected columns are read and
+ * decoded, the other columns and the blocks of the other table are skipped. The memory use is bounded by the size of a
+ * block. Example for the points per tile type:
+ *
+ * <pre>
+ * try (GameExportReader reader = new GameExportReader(file, ExportColumn.TURN_TILE, ExportColumn.TURN_SCORE)) {
+ *     while (reader.nextBlock()) {
+ *         long[] tiles = reader.getColumn(ExportColumn.TURN_TILE);
+ *         long[] scores = reader.getColumn(ExportColumn.TURN_SCORE);
+ *         for (int row = 0; row < reader.getRowCount(); row++) { ... }
+ *     }
+ * }
+ * </pre>
+ * @author Timur Saglam
+ */
+public class GameExportReader implements Closeable {
+    private final FileChannel channel;
+    private final ExportColumn.Table table;
+    private final long[][] values; // decoded values of the selected columns, null for the other columns
+    private final ByteBuffer header;
+    private ByteBuffer columnData;
+    private long position;
+    private int rowCount;
+
+    /**
+     * Opens an export file for reading.
+     * @param file is the path of the file.
+     * @param columns are the columns to read, which must belong to the same table.
+     * @throws IOException if the file can not be opened or is not a game export.
+     */
+    public GameExportReader(Path file, ExportColumn... columns) throws IOException {
+        if (columns.length == 0) {
+            throw new IllegalArgumentException("No columns selected");
+        }
+        table = columns[0].getTable();
+        values = new long[ExportColumn.columnsOf(table).size()][];
+        for (ExportColumn column : columns) {
+            if (column.getTable() != table) {
+                throw new IllegalArgumentException("Columns of different tables: " + columns[0] + ", " + column);
+            }
+            values[column.getIndex()] = new long[GameExporter.BLOCK_ROWS];
+        }
+        header = ByteBuffer.allocate(Math.max(GameExporter.HEADER_SIZE, GameExporter.blockHeaderSize(ExportColumn.Table.TURNS)));
+        columnData = ByteBuffer.allocate(ColumnEncoding.maximalSize(GameExporter.BLOCK_ROWS));
+        channel = FileChannel.open(file, StandardOpenOption.READ);
+        try {
+            readFully(header, GameExporter.HEADER_SIZE);
+            if (header.getInt() != GameExporter.MAGIC_NUMBER) {
+                throw new IOException("Not a game export: " + file);
+            }
+            short version = header.getShort();
+            if (version != GameExporter.FORMAT_VERSION) {
+                throw new IOException("Unsupported game export version: " + version);
+            }
+        } catch (IOException exception) {
+            channel.close();
+            throw exception;
+        }
+    }
+
+    /**
+     * Reads the next block of the table of the selected columns.
+     * @return true if a block was read, false if the end of the file is reached.
+     * @throws IOException if the file can not be read or is corrupted.
+     */
+    public boolean nextBlock() throws IOException {
+        while (position < channel.size()) {
+            try {
+                readFully(header, Byte.BYTES + Integer.BYTES);
+                int tableIndex = header.get();
+                if (tableIndex < 0 || tableIndex >= ExportColumn.Table.values().length) {
+                    throw new IOException("Corrupted game export, unknown table: " + tableIndex);
+                }
+                ExportColumn.Table blockTable = ExportColumn.Table.values()[tableIndex];
+                int rows = header.getInt();
+                if (rows <= 0 || rows > GameExporter.BLOCK_ROWS) {
+                    throw new IOException("Corrupted game export, invalid block size: " + rows);
+                }
+                List<ExportColumn> columns = ExportColumn.columnsOf(blockTable);
+                readFully(header, columns.size() * Integer.BYTES);
+                for (ExportColumn column : columns) {
+                    int size = header.getInt();
+                    if (blockTable == table && values[column.getIndex()] != null) {
+                        readColumn(column, size, rows);
+                    } else {
+                        position += size; // skipped without reading
+                    }
+                }
+                if (blockTable == table) {
+                    rowCount = rows;
+                    return true;
+                }
+            } catch (BufferUnderflowException | IllegalArgumentException exception) {
+                throw new IOException("Corrupted game export: " + exception.getMessage(), exception);
+            }
+        }
+        rowCount = 0;
+        return false;
+    }
+
+    /**
+     * Getter for the amount of rows of the current block.
+     * @return the amount of rows, which is zero if no block was read.
+     */
+    public int getRowCount() {
+        return rowCount;
+    }
+
+    /**
+     * Returns the decoded values of a selected column in the current block. The array is reused for the next block.
+     * @param column is the selected column.
+     * @return the values, of which the first {@link #getRowCount()} values belong to the block.
+     */
+    public long[] getColumn(ExportColumn column) {
+        if (column.getTable() != table || values[column.getIndex()] == null) {
+            throw new IllegalArgumentException("Column was not selected: " + column);
+        }
+        return values[column.getIndex()];
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private void readColumn(ExportColumn column, int size, int rows) throws IOException {
+        if (size < 0 || size > ColumnEncoding.maximalSize(rows)) {
+            throw new IOException("Corrupted game export, invalid column size: " + size);
+        }
+        readFully(columnData, size);
+        column.getEncoding().decode(columnData, values[column.getIndex()], rows);
+        if (columnData.hasRemaining()) {
+            throw new IOException("Corrupted game export, column " + column + " is too long");
+        }
+    }
+
+    // reads the next bytes of the file into the buffer, which is ready to be read afterwards.
+    private void readFully(ByteBuffer buffer, int size) throws IOException {
+        buffer.clear().limit(size);
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position);
+            if (read < 0) {
+                throw new EOFException("Game export is truncated");
+            }
+            position += read;
+        }
+        buffer.flip();
+    }
+}
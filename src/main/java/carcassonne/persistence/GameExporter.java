@@ -0,0 +1,255 @@
+package carcassonne.persistence;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+import carcassonne.control.GameEngine;
+import carcassonne.control.GameEventListener;
+import carcassonne.model.Player;
+import carcassonne.model.Round;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.Tile;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Streaming export of any number of games into a column-oriented binary file, e.g. for the analysis of simulations. The
+ * exporter is registered at a {@link GameEngine} and collects one row per game and one row per completed turn, see
+ * {@link ExportColumn}. The rows are written in blocks of {@link #BLOCK_ROWS} rows. A block stores every column of its
+ * table on its own and starts with the sizes of the encoded columns, which allows the {@link GameExportReader} to skip
+ * the columns that are not needed. The memory use is bounded by the block size, independent of the amount of games.
+ * Other than the journal, the exporter must not lose data silently: write errors are thrown as
+ * {@link UncheckedIOException} from the notification methods, which aborts the simulation.
+ * @author Timur Saglam
+ */
+public class GameExporter implements GameEventListener, Closeable {
+    /**
+     * The maximal amount of rows per block.
+     */
+    public static final int BLOCK_ROWS = 4096;
+    static final int MAGIC_NUMBER = 0x43455850; // CEXP
+    static final short FORMAT_VERSION = 1;
+    static final int HEADER_SIZE = Integer.BYTES + Short.BYTES;
+    private static final int NONE = -1;
+    private final FileChannel channel;
+    private final GameSettings settings;
+    private final ColumnBlock games;
+    private final ColumnBlock turns;
+    private final long[] turnRow;
+    private final ByteBuffer data;
+    private long gameCount;
+    private int gameTurns;
+    private boolean chaosMode;
+    private boolean turnOpen;
+    private Round round;
+
+    /**
+     * Creates an exporter, which writes to a file. Existing files are overwritten.
+     * @param file is the path of the file.
+     * @param settings are the {@link GameSettings} of the exported games, which determine the chaos mode.
+     * @throws IOException if the file can not be created.
+     */
+    public GameExporter(Path file, GameSettings settings) throws IOException {
+        this.settings = settings;
+        games = new ColumnBlock(ExportColumn.Table.GAMES);
+        turns = new ColumnBlock(ExportColumn.Table.TURNS);
+        turnRow = new long[ExportColumn.columnsOf(ExportColumn.Table.TURNS).size()];
+        data = ByteBuffer.allocateDirect(ColumnEncoding.maximalSize(BLOCK_ROWS) * turnRow.length);
+        channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+        header.putInt(MAGIC_NUMBER).putShort(FORMAT_VERSION).flip();
+        try {
+            write(header);
+        } catch (UncheckedIOException exception) {
+            channel.close();
+            throw exception.getCause();
+        }
+    }
+
+    /**
+     * Getter for the amount of exported games.
+     * @return the amount of games, including the running game.
+     */
+    public long getGameCount() {
+        return round == null ? gameCount : gameCount + 1;
+    }
+
+    /**
+     * Ends the running game as unfinished game, writes all collected rows and closes the file.
+     * @throws IOException if the rows can not be written.
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (round != null) {
+                endGame(false);
+            }
+            writeBlock(turns);
+            writeBlock(games);
+        } catch (UncheckedIOException exception) {
+            throw exception.getCause();
+        } finally {
+            channel.close();
+        }
+    }
+
+    @Override
+    public void roundStarted(Round round) {
+        if (this.round != null) {
+            endGame(false); // the previous round was abandoned
+        }
+        this.round = round;
+        chaosMode = settings.isChaosMode();
+        gameTurns = 0;
+        startTurn(round.getCurrentTile(), round.getActivePlayer());
+    }
+
+    @Override
+    public void tileDrawn(Tile tile, Player player) {
+        startTurn(tile, player);
+    }
+
+    @Override
+    public void tilePlaced(Tile tile, int x, int y) {
+        setTurnValue(ExportColumn.TURN_X, x);
+        setTurnValue(ExportColumn.TURN_Y, y);
+        setTurnValue(ExportColumn.TURN_ROTATION, tile.getRotation());
+    }
+
+    @Override
+    public void meeplePlaced(Tile tile, GridDirection position, Player player) {
+        setTurnValue(ExportColumn.TURN_MEEPLE, position.ordinal());
+    }
+
+    @Override
+    public void tileSkipped(Tile tile) {
+        // the position, rotation and meeple of the turn stay empty
+    }
+
+    @Override
+    public void patternScored(Player player, TerrainType terrain, int amount) {
+        if (turnOpen) { // the final scores of a round are only part of the game row
+            ExportColumn column = player.getNumber() == turnRow[ExportColumn.TURN_PLAYER.getIndex()] ? ExportColumn.TURN_SCORE : ExportColumn.TURN_OPPONENT_SCORE;
+            turnRow[column.getIndex()] += amount;
+        }
+    }
+
+    @Override
+    public void turnEnded(Round round) {
+        turns.add(turnRow);
+        turnOpen = false;
+        gameTurns++;
+    }
+
+    @Override
+    public void roundEnded(Round round) {
+        endGame(true);
+    }
+
+    private void startTurn(Tile tile, Player player) {
+        Arrays.fill(turnRow, 0);
+        setTurnValue(ExportColumn.TURN_GAME, gameCount);
+        setTurnValue(ExportColumn.TURN_NUMBER, round.getScoreLedger().getTurn());
+        setTurnValue(ExportColumn.TURN_PLAYER, player.getNumber());
+        setTurnValue(ExportColumn.TURN_TILE, tile.getType().ordinal());
+        setTurnValue(ExportColumn.TURN_X, NONE);
+        setTurnValue(ExportColumn.TURN_Y, NONE);
+        setTurnValue(ExportColumn.TURN_ROTATION, NONE);
+        setTurnValue(ExportColumn.TURN_MEEPLE, NONE);
+        turnOpen = true;
+    }
+
+    private void setTurnValue(ExportColumn column, long value) {
+        turnRow[column.getIndex()] = value;
+    }
+
+    private void endGame(boolean finished) {
+        int winner = 0;
+        for (int player = 1; player < round.getPlayerCount(); player++) {
+            if (round.getPlayer(player).getScore() > round.getPlayer(winner).getScore()) {
+                winner = player;
+            }
+        }
+        long[] gameRow = new long[ExportColumn.columnsOf(ExportColumn.Table.GAMES).size()];
+        gameRow[ExportColumn.GAME_SEED.getIndex()] = round.getSeed();
+        gameRow[ExportColumn.GAME_PLAYERS.getIndex()] = round.getPlayerCount();
+        gameRow[ExportColumn.GAME_CHAOS.getIndex()] = chaosMode ? 1 : 0;
+        gameRow[ExportColumn.GAME_FINISHED.getIndex()] = finished ? 1 : 0;
+        gameRow[ExportColumn.GAME_TURNS.getIndex()] = gameTurns;
+        gameRow[ExportColumn.GAME_WINNER.getIndex()] = winner;
+        gameRow[ExportColumn.GAME_WINNER_SCORE.getIndex()] = round.getPlayer(winner).getScore();
+        games.add(gameRow);
+        gameCount++;
+        turnOpen = false;
+        round = null;
+    }
+
+    // writes the block header with the sizes of all columns, followed by the encoded columns, and empties the block.
+    private void writeBlock(ColumnBlock block) {
+        if (block.rows == 0) {
+            return;
+        }
+        ByteBuffer header = ByteBuffer.allocate(blockHeaderSize(block.table));
+        header.put((byte) block.table.ordinal()).putInt(block.rows);
+        data.clear();
+        List<ExportColumn> columns = ExportColumn.columnsOf(block.table);
+        for (int index = 0; index < columns.size(); index++) {
+            int start = data.position();
+            columns.get(index).getEncoding().encode(block.columns[index], block.rows, data);
+            header.putInt(data.position() - start);
+        }
+        header.flip();
+        data.flip();
+        write(header, data);
+        block.rows = 0;
+    }
+
+    private void write(ByteBuffer... buffers) {
+        try {
+            while (buffers[buffers.length - 1].hasRemaining()) {
+                channel.write(buffers);
+            }
+        } catch (IOException exception) {
+            throw new UncheckedIOException("Could not write the game export", exception);
+        }
+    }
+
+    /**
+     * Calculates the size of the header of a block, which consists of the table, the amount of rows and the size of every
+     * encoded column.
+     * @param table is the table of the block.
+     * @return the size in bytes.
+     */
+    static int blockHeaderSize(ExportColumn.Table table) {
+        return Byte.BYTES + Integer.BYTES + ExportColumn.columnsOf(table).size() * Integer.BYTES;
+    }
+
+    // the collected rows of a table, stored column by column.
+    private class ColumnBlock {
+        private final ExportColumn.Table table;
+        private final long[][] columns;
+        private int rows;
+
+        ColumnBlock(ExportColumn.Table table) {
+            this.table = table;
+            columns = new long[ExportColumn.columnsOf(table).size()][BLOCK_ROWS];
+        }
+
+        void add(long[] row) {
+            for (int column = 0; column < row.length; column++) {
+                columns[column][rows] = row[column];
+            }
+            rows++;
+            if (rows == BLOCK_ROWS) {
+                writeBlock(this);
+            }
+        }
+    }
+}
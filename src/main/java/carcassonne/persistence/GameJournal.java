@@ -0,0 +1,161 @@
+package carcassonne.persistence;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+import carcassonne.control.GameEngine;
+import carcassonne.model.Round;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Append-only journal of the running round, which allows to rebuild the round after a crash. The journal starts with a
+ * snapshot of the round in the format of the {@link RoundSerializer}, followed by one record per committed action. The
+ * records of a turn are collected in a buffer and appended with a single channel write at the end of the turn, which
+ * means a crash loses at most the unfinished turn. The journal is deleted when the round ends. Errors disable the journal
+ * instead of interrupting the game.
+ * @author Timur Saglam
+ */
+public class GameJournal extends TurnRecorder {
+    private static final int MAGIC_NUMBER = 0x434A524E; // CJRN
+    private static final short FORMAT_VERSION = 1;
+    private static final int BUFFER_SIZE = 1024; // a turn needs only a few dozen bytes
+    private final Path file;
+    private final ByteBuffer buffer;
+    private FileChannel channel;
+
+    /**
+     * Creates a journal, which writes to a specific file as soon as a round is started.
+     * @param file is the path of the journal file.
+     */
+    public GameJournal(Path file) {
+        this.file = file;
+        buffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+    }
+
+    /**
+     * Checks whether there is a journal of an unfinished round, which can be recovered.
+     * @return true if the journal file exists.
+     */
+    public boolean isRecoverable() {
+        return channel == null && Files.isRegularFile(file);
+    }
+
+    /**
+     * Rebuilds the unfinished round of the journal file by replaying all complete turns through a {@link GameEngine}. An
+     * incomplete last turn is dropped.
+     * @param settings are the {@link GameSettings} for the players of the round.
+     * @return the recovered round, which is at the start of a turn.
+     * @throws IOException if the journal can not be read or its actions can not be replayed.
+     */
+    public Round recover(GameSettings settings) throws IOException {
+        ByteBuffer content = ByteBuffer.wrap(Files.readAllBytes(file));
+        try {
+            if (content.getInt() != MAGIC_NUMBER) {
+                throw new IOException("Not a game journal: " + file);
+            }
+            short version = content.getShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported game journal version: " + version);
+            }
+            int snapshotSize = content.getInt();
+            ByteBuffer snapshot = content.slice();
+            snapshot.limit(snapshotSize);
+            content.position(content.position() + snapshotSize);
+            GameEngine engine = new GameEngine();
+            engine.resumeRound(RoundSerializer.deserialize(snapshot, settings));
+            for (ByteBuffer turn = nextTurn(content); turn != null; turn = nextTurn(content)) {
+                replay(turn, engine);
+            }
+            return engine.getRound();
+        } catch (BufferUnderflowException | IllegalArgumentException | IllegalStateException | ArrayIndexOutOfBoundsException exception) {
+            throw new IOException("Corrupted game journal: " + exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Closes the journal file without deleting it.
+     */
+    public void close() {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException exception) {
+                exception.printStackTrace();
+            }
+            channel = null;
+        }
+    }
+
+    /**
+     * Closes and deletes the journal file.
+     */
+    public void discard() {
+        close();
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    @Override
+    public void roundStarted(Round round) {
+        close();
+        ByteBuffer snapshot = RoundSerializer.serialize(round);
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + Short.BYTES + Integer.BYTES);
+        header.putInt(MAGIC_NUMBER).putShort(FORMAT_VERSION).putInt(snapshot.remaining()).flip();
+        buffer.clear();
+        try {
+            channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+            ByteBuffer[] data = { header, snapshot };
+            while (snapshot.hasRemaining()) {
+                channel.write(data);
+            }
+        } catch (IOException exception) {
+            disable(exception);
+        }
+    }
+
+    @Override
+    public void turnEnded(Round round) {
+        super.turnEnded(round);
+        flush();
+    }
+
+    @Override
+    public void roundEnded(Round round) {
+        discard();
+    }
+
+    @Override
+    protected ByteBuffer record(byte type) { // flushes the buffer early if the record might not fit
+        if (buffer.remaining() < MAXIMAL_RECORD_SIZE) {
+            flush();
+        }
+        return buffer.put(type);
+    }
+
+    // appends all buffered records with a single write. The data is not forced to the disk, the journal only has to
+    // survive a crash of the game.
+    private void flush() {
+        buffer.flip();
+        try {
+            while (channel != null && buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        } catch (IOException exception) {
+            disable(exception);
+        }
+        buffer.clear();
+    }
+
+    private void disable(IOException exception) {
+        exception.printStackTrace();
+        close();
+    }
+}
@@ -0,0 +1,269 @@
+package carcassonne.persistence;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractMap.SimpleImmutableEntry;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+import carcassonne.model.Player;
+import carcassonne.model.Round;
+import carcassonne.model.tile.Tile;
+
+/**
+ * In-memory recording of a complete round for replays. The recording consists of the move log with the records of every
+ * turn and a full snapshot of the round every few turns, in the format of the {@link RoundSerializer}. The state at any
+ * turn is restored from the nearest previous snapshot by replaying only the turns after it, see {@link GameReplay}.
+ * Recordings can be saved to a file, e.g. to review a disputed game.
+ * @author Timur Saglam
+ */
+public class GameRecording extends TurnRecorder {
+    /**
+     * The default amount of turns between two snapshots.
+     */
+    public static final int DEFAULT_SNAPSHOT_INTERVAL = 10;
+    private static final int MAGIC_NUMBER = 0x43524543; // CREC
+    private static final short FORMAT_VERSION = 1;
+    private static final int INITIAL_CAPACITY = 4096; // bytes, enough for the moves of a usual round
+    private final int snapshotInterval;
+    private final NavigableMap<Integer, ByteBuffer> snapshots;
+    private final List<Integer> turnOffsets; // start of every turn in the move log, the last one is the unfinished turn
+    private ByteBuffer moves;
+    private boolean finished;
+    private Round round;
+
+    /**
+     * Creates an empty recording with the default snapshot interval.
+     */
+    public GameRecording() {
+        this(DEFAULT_SNAPSHOT_INTERVAL);
+    }
+
+    /**
+     * Creates an empty recording.
+     * @param snapshotInterval is the amount of turns between two snapshots.
+     */
+    public GameRecording(int snapshotInterval) {
+        if (snapshotInterval <= 0) {
+            throw new IllegalArgumentException("Invalid snapshot interval: " + snapshotInterval);
+        }
+        this.snapshotInterval = snapshotInterval;
+        snapshots = new TreeMap<>();
+        turnOffsets = new ArrayList<>();
+        moves = ByteBuffer.allocate(INITIAL_CAPACITY);
+    }
+
+    /**
+     * Loads a recording from a file.
+     * @param file is the path of the file.
+     * @return the loaded recording.
+     * @throws IOException if the file can not be read or is not a valid recording.
+     */
+    public static GameRecording load(Path file) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        return read(buffer);
+    }
+
+    /**
+     * Saves the recording to a file. Existing files are overwritten.
+     * @param file is the path of the file.
+     * @throws IOException if the file can not be written.
+     */
+    public void save(Path file) throws IOException {
+        ByteBuffer[] data = toBuffers();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (data[data.length - 1].hasRemaining()) {
+                channel.write(data);
+            }
+        }
+    }
+
+    /**
+     * Creates an independent copy of the recording, which is not changed when this recording records the next round.
+     * @return the copy.
+     */
+    public GameRecording copy() {
+        ByteBuffer[] data = toBuffers();
+        int size = 0;
+        for (ByteBuffer part : data) {
+            size += part.remaining();
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        for (ByteBuffer part : data) {
+            buffer.put(part);
+        }
+        buffer.flip();
+        try {
+            return read(buffer);
+        } catch (IOException exception) {
+            throw new IllegalStateException("Recording can not be copied: " + exception.getMessage(), exception);
+        }
+    }
+
+    /**
+     * Getter for the amount of completed turns of the recording.
+     * @return the amount of turns.
+     */
+    public int getTurnCount() {
+        return Math.max(0, turnOffsets.size() - 1);
+    }
+
+    /**
+     * Checks whether the recorded round ended.
+     * @return true if the round ended.
+     */
+    public boolean isFinished() {
+        return finished;
+    }
+
+    @Override
+    public void roundStarted(Round round) {
+        snapshots.clear();
+        turnOffsets.clear();
+        moves.clear();
+        finished = false;
+        this.round = round;
+        turnOffsets.add(0);
+        snapshots.put(0, RoundSerializer.serialize(round));
+    }
+
+    @Override
+    public void tileDrawn(Tile tile, Player player) {
+        int turn = getTurnCount();
+        if (turn % snapshotInterval == 0) {
+            snapshots.put(turn, RoundSerializer.serialize(round));
+        }
+        super.tileDrawn(tile, player);
+    }
+
+    @Override
+    public void turnEnded(Round round) {
+        super.turnEnded(round);
+        turnOffsets.add(moves.position());
+    }
+
+    @Override
+    public void roundEnded(Round round) {
+        finished = true;
+    }
+
+    @Override
+    protected ByteBuffer record(byte type) {
+        if (moves.remaining() < MAXIMAL_RECORD_SIZE) {
+            ByteBuffer grownMoves = ByteBuffer.allocate(moves.capacity() * 2);
+            moves.flip();
+            grownMoves.put(moves);
+            moves = grownMoves;
+        }
+        return moves.put(type);
+    }
+
+    /**
+     * Getter for the recorded round.
+     * @return the round in its current state, or null if the recording was loaded from a file.
+     */
+    Round getRound() {
+        return round;
+    }
+
+    /**
+     * Returns the records of all completed turns.
+     * @return a new buffer with the records.
+     */
+    ByteBuffer getMoves() {
+        ByteBuffer completedMoves = moves.duplicate();
+        completedMoves.flip().limit(turnOffsets.isEmpty() ? 0 : turnOffsets.get(turnOffsets.size() - 1));
+        return completedMoves.slice();
+    }
+
+    /**
+     * Returns the nearest snapshot at or before a specific turn.
+     * @param turn is the turn.
+     * @return the entry with the turn of the snapshot and a new buffer with the serialized round.
+     */
+    Entry<Integer, ByteBuffer> getSnapshot(int turn) {
+        Entry<Integer, ByteBuffer> entry = snapshots.floorEntry(turn);
+        return new SimpleImmutableEntry<>(entry.getKey(), entry.getValue().duplicate());
+    }
+
+    /**
+     * Returns the records of a specific turn.
+     * @param turn is the number of the completed turn.
+     * @return a new buffer with the records of the turn.
+     */
+    ByteBuffer getTurn(int turn) {
+        if (turn < 0 || turn >= getTurnCount()) {
+            throw new IllegalArgumentException("Turn " + turn + " is not recorded");
+        }
+        ByteBuffer turnMoves = moves.duplicate();
+        turnMoves.limit(turnOffsets.get(turn + 1));
+        turnMoves.position(turnOffsets.get(turn));
+        return turnMoves.slice();
+    }
+
+    // the header, the snapshots and the moves, ready to be written with a single gathering write.
+    private ByteBuffer[] toBuffers() {
+        ByteBuffer header = ByteBuffer.allocate(Integer.BYTES + Short.BYTES + 2 * Integer.BYTES + Byte.BYTES + Integer.BYTES);
+        header.putInt(MAGIC_NUMBER).putShort(FORMAT_VERSION).putInt(snapshotInterval).putInt(snapshots.size()).put((byte) (finished ? 1 : 0));
+        ByteBuffer movesData = getMoves(); // without the unfinished turn
+        header.putInt(movesData.remaining()).flip();
+        List<ByteBuffer> data = new ArrayList<>();
+        data.add(header);
+        for (Entry<Integer, ByteBuffer> snapshot : snapshots.entrySet()) {
+            ByteBuffer snapshotHeader = ByteBuffer.allocate(2 * Integer.BYTES);
+            snapshotHeader.putInt(snapshot.getKey()).putInt(snapshot.getValue().remaining()).flip();
+            data.add(snapshotHeader);
+            data.add(snapshot.getValue().duplicate());
+        }
+        data.add(movesData);
+        return data.toArray(new ByteBuffer[data.size()]);
+    }
+
+    private static GameRecording read(ByteBuffer buffer) throws IOException {
+        try {
+            if (buffer.getInt() != MAGIC_NUMBER) {
+                throw new IOException("Not a game recording");
+            }
+            short version = buffer.getShort();
+            if (version != FORMAT_VERSION) {
+                throw new IOException("Unsupported game recording version: " + version);
+            }
+            GameRecording recording = new GameRecording(buffer.getInt());
+            int snapshotCount = buffer.getInt();
+            recording.finished = buffer.get() != 0;
+            int movesSize = buffer.getInt();
+            for (int index = 0; index < snapshotCount; index++) {
+                int turn = buffer.getInt();
+                byte[] snapshot = new byte[buffer.getInt()];
+                buffer.get(snapshot);
+                recording.snapshots.put(turn, ByteBuffer.wrap(snapshot));
+            }
+            if (!recording.snapshots.containsKey(0)) {
+                throw new IOException("Game recording has no initial snapshot");
+            }
+            recording.moves = ByteBuffer.allocate(Math.max(INITIAL_CAPACITY, movesSize));
+            ByteBuffer movesData = buffer.slice();
+            movesData.limit(movesSize);
+            recording.moves.put(movesData);
+            ByteBuffer turns = recording.moves.duplicate();
+            turns.flip();
+            recording.turnOffsets.add(0);
+            while (nextTurn(turns) != null) {
+                recording.turnOffsets.add(turns.position());
+            }
+            return recording;
+        } catch (BufferUnderflowException | IllegalArgumentException exception) {
+            throw new IOException("Corrupted game recording: " + exception.getMessage(), exception);
+        }
+    }
+}
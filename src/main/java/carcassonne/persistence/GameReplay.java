@@ -0,0 +1,94 @@
+package carcassonne.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Map.Entry;
+
+import carcassonne.control.GameEngine;
+import carcassonne.model.Round;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Replays a {@link GameRecording} and allows to jump to any of its turns. A seek restores the nearest snapshot before the
+ * target turn and replays the remaining turns through a {@link GameEngine} without listeners, unless the current turn of
+ * the replay is closer. This means a seek replays less turns than the snapshot interval, and no user interface is
+ * involved until the target turn is reached.
+ * @author Timur Saglam
+ */
+public class GameReplay {
+    private final GameRecording recording;
+    private final GameSettings settings;
+    private final GameEngine engine;
+    private int turn;
+
+    /**
+     * Creates a replay, which starts at the first turn of the recording.
+     * @param recording is the recording to replay, which must not change during the replay.
+     * @param settings are the {@link GameSettings} for the players of the round.
+     * @throws IOException if the first snapshot of the recording can not be restored.
+     */
+    public GameReplay(GameRecording recording, GameSettings settings) throws IOException {
+        this.recording = recording;
+        this.settings = settings;
+        engine = new GameEngine();
+        restoreSnapshot(0);
+    }
+
+    /**
+     * Getter for the round of the replay.
+     * @return the round in the state of the current turn.
+     */
+    public Round getRound() {
+        return engine.getRound();
+    }
+
+    /**
+     * Getter for the current turn of the replay.
+     * @return the amount of completed turns.
+     */
+    public int getTurn() {
+        return turn;
+    }
+
+    /**
+     * Getter for the last turn of the replay.
+     * @return the amount of recorded turns.
+     */
+    public int getTurnCount() {
+        return recording.getTurnCount();
+    }
+
+    /**
+     * Jumps to a specific turn. If the recorded round ended, the last turn shows the final scores.
+     * @param targetTurn is the amount of completed turns after the jump.
+     * @return the round in the state of the target turn. It is a new instance if a snapshot was restored.
+     * @throws IOException if the recording can not be replayed.
+     */
+    public Round seek(int targetTurn) throws IOException {
+        if (targetTurn < 0 || targetTurn > recording.getTurnCount()) {
+            throw new IllegalArgumentException("Turn " + targetTurn + " is not recorded");
+        }
+        int snapshotTurn = recording.getSnapshot(targetTurn).getKey();
+        if (targetTurn < turn || snapshotTurn > turn || isFinalTurn(turn)) { // replaying from the current turn would be slower
+            restoreSnapshot(targetTurn);
+        }
+        while (turn < targetTurn) {
+            TurnRecorder.replay(recording.getTurn(turn), engine);
+            turn++;
+        }
+        if (isFinalTurn(turn)) {
+            engine.finishRound();
+        }
+        return engine.getRound();
+    }
+
+    private boolean isFinalTurn(int currentTurn) {
+        return recording.isFinished() && currentTurn == recording.getTurnCount();
+    }
+
+    private void restoreSnapshot(int targetTurn) throws IOException {
+        Entry<Integer, ByteBuffer> snapshot = recording.getSnapshot(targetTurn);
+        engine.resumeRound(RoundSerializer.deserialize(snapshot.getValue(), settings));
+        turn = snapshot.getKey();
+    }
+}
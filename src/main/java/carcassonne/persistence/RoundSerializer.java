@@ -0,0 +1,319 @@
+package carcassonne.persistence;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import carcassonne.model.Meeple;
+import carcassonne.model.Player;
+import carcassonne.model.Round;
+import carcassonne.model.ScoreLedger;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.grid.GridSpot;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileStack;
+import carcassonne.model.tile.TileType;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Binary format for saved rounds. A saved round consists of a header with the seed, the state of the turn, the scores and free meeples
+ * of every player, the score events of the {@link ScoreLedger}, one fixed-size record per placed tile (coordinates, tile
+ * type, rotation, meeple owner and meeple position), the order of the tile stack and the queue of returned tiles. Rounds
+ * can only be saved between turns, while the current tile is not placed. Files are written and read with a single channel
+ * operation. Rounds of older versions have no score events, their whole score history is restored in the current turn.
+ * @author Timur Saglam
+ */
+public final class RoundSerializer {
+    /**
+     * The version of the format, which is increased on every incompatible change.
+     */
+    public static final short FORMAT_VERSION = 3;
+    private static final short VERSION_WITHOUT_LEDGER = 2; // still readable, the score history of these rounds is lost
+    private static final short VERSION_WITHOUT_SEED = 1; // still readable, the seed of these rounds is lost
+    private static final int MAGIC_NUMBER = 0x43534156; // CSAV
+    private static final int HEADER_SIZE = Integer.BYTES + 3 * Short.BYTES + Byte.BYTES + Integer.BYTES + 3 * Byte.BYTES + Long.BYTES;
+    private static final int TILE_RECORD_SIZE = 2 * Short.BYTES + 4 * Byte.BYTES;
+    private static final int EVENT_RECORD_SIZE = Integer.BYTES + 2 * Byte.BYTES + 2 * Integer.BYTES;
+    private static final int NO_MEEPLE = -1;
+    private static final int MAXIMAL_TURNS = 1 << 16; // far beyond any round, even with many skipped tiles
+    private static final TerrainType[] TERRAINS = TerrainType.values();
+    private static final TileType[] TILE_TYPES = TileType.values();
+    private static final GridDirection[] POSITIONS = GridDirection.values();
+
+    private RoundSerializer() {
+        // Private constructor for helper class.
+    }
+
+    /**
+     * Saves a round to a file. Existing files are overwritten.
+     * @param round is the round to save.
+     * @param file is the path of the file.
+     * @throws IOException if the file can not be written.
+     */
+    public static void save(Round round, Path file) throws IOException {
+        write(serialize(round), file);
+    }
+
+    /**
+     * Writes a serialized round to a file. The data is written to a temporary file first, which then replaces the file
+     * atomically. This means the file always contains a complete round, even if the game crashes while writing.
+     * @param buffer is the serialized round, see {@link #serialize(Round)}.
+     * @param file is the path of the file.
+     * @throws IOException if the file can not be written.
+     */
+    static void write(ByteBuffer buffer, Path file) throws IOException {
+        Path temporaryFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (FileChannel channel = FileChannel.open(temporaryFile, StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+            channel.force(false);
+        }
+        Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    /**
+     * Loads a round from a file.
+     * @param file is the path of the file.
+     * @param settings are the {@link GameSettings} for the players of the round.
+     * @return the restored round, whose grid contains all placed tiles and meeples.
+     * @throws IOException if the file can not be read or is not a valid saved round.
+     */
+    public static Round load(Path file, GameSettings settings) throws IOException {
+        ByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("File is too large to be a saved round: " + file);
+            }
+            buffer = ByteBuffer.allocate((int) channel.size());
+            while (buffer.hasRemaining() && channel.read(buffer) >= 0) {
+                // read until the buffer is full
+            }
+        }
+        buffer.flip();
+        return deserialize(buffer, settings);
+    }
+
+    /**
+     * Writes a round into a new buffer.
+     * @param round is the round to write. Its current tile must not be placed.
+     * @return the buffer, ready to be read.
+     */
+    public static ByteBuffer serialize(Round round) {
+        Grid grid = round.getGrid();
+        Tile currentTile = round.getCurrentTile();
+        if (currentTile == null || currentTile.isPlaced()) {
+            throw new IllegalStateException("Rounds can only be saved between turns: " + currentTile);
+        }
+        List<GridSpot> occupiedSpots = new ArrayList<>();
+        for (int y = 0; y < grid.getHeight(); y++) {
+            for (int x = 0; x < grid.getWidth(); x++) {
+                if (grid.getSpot(x, y).isOccupied()) {
+                    occupiedSpots.add(grid.getSpot(x, y));
+                }
+            }
+        }
+        TileStack stack = round.getTileStack();
+        List<Tile> stackTiles = stack.getTiles();
+        List<Tile> returnedTiles = stack.getReturnedTiles();
+        ScoreLedger ledger = round.getScoreLedger();
+        int playerSize = Byte.BYTES + TERRAINS.length * Integer.BYTES;
+        int size = HEADER_SIZE + round.getPlayerCount() * playerSize + Integer.BYTES + ledger.getEventCount() * EVENT_RECORD_SIZE + Integer.BYTES
+                + occupiedSpots.size() * TILE_RECORD_SIZE + Integer.BYTES
+                + stackTiles.size() + Integer.BYTES + returnedTiles.size() * 2;
+        ByteBuffer buffer = ByteBuffer.allocate(size);
+        buffer.putInt(MAGIC_NUMBER);
+        buffer.putShort(FORMAT_VERSION);
+        buffer.putShort((short) grid.getWidth());
+        buffer.putShort((short) grid.getHeight());
+        buffer.put((byte) round.getPlayerCount());
+        buffer.putInt(ledger.getTurn());
+        buffer.put((byte) round.getActivePlayer().getNumber());
+        buffer.put((byte) currentTile.getType().ordinal());
+        buffer.put((byte) currentTile.getRotation());
+        buffer.putLong(round.getSeed());
+        for (int number = 0; number < round.getPlayerCount(); number++) {
+            Player player = round.getPlayer(number);
+            buffer.put((byte) player.getFreeMeeples());
+            for (TerrainType terrain : TERRAINS) {
+                buffer.putInt(terrain == TerrainType.OTHER ? player.getScore() : player.getTerrainScore(terrain));
+            }
+        }
+        buffer.putInt(ledger.getEventCount());
+        for (int event = 0; event < ledger.getEventCount(); event++) {
+            buffer.putInt(ledger.getEventTurn(event));
+            buffer.put((byte) ledger.getEventPlayer(event));
+            buffer.put((byte) ledger.getEventTerrain(event).ordinal());
+            buffer.putInt(ledger.getEventAmount(event));
+            buffer.putInt(ledger.getEventPattern(event));
+        }
+        buffer.putInt(occupiedSpots.size());
+        for (GridSpot spot : occupiedSpots) {
+            Tile tile = spot.getTile();
+            Meeple meeple = tile.getMeeple();
+            buffer.putShort((short) spot.getX());
+            buffer.putShort((short) spot.getY());
+            buffer.put((byte) tile.getType().ordinal());
+            buffer.put((byte) tile.getRotation());
+            buffer.put((byte) (meeple == null ? NO_MEEPLE : meeple.getOwner().getNumber()));
+            buffer.put((byte) (meeple == null ? NO_MEEPLE : meeple.getPosition().ordinal()));
+        }
+        buffer.putInt(stackTiles.size());
+        for (Tile tile : stackTiles) {
+            buffer.put((byte) tile.getType().ordinal());
+        }
+        buffer.putInt(returnedTiles.size());
+        for (Tile tile : returnedTiles) {
+            buffer.put((byte) tile.getType().ordinal());
+            buffer.put((byte) tile.getRotation());
+        }
+        buffer.flip();
+        return buffer;
+    }
+
+    /**
+     * Reads a round from a buffer.
+     * @param buffer is the buffer, which is read from its current position.
+     * @param settings are the {@link GameSettings} for the players of the round.
+     * @return the restored round, whose grid contains all placed tiles and meeples.
+     * @throws IOException if the buffer does not contain a valid saved round.
+     */
+    public static Round deserialize(ByteBuffer buffer, GameSettings settings) throws IOException {
+        try {
+            return read(buffer, settings);
+        } catch (BufferUnderflowException | IllegalArgumentException | IllegalStateException | ArrayIndexOutOfBoundsException exception) {
+            throw new IOException("Corrupted saved round: " + exception.getMessage(), exception);
+        }
+    }
+
+    private static Round read(ByteBuffer buffer, GameSettings settings) throws IOException {
+        if (buffer.getInt() != MAGIC_NUMBER) {
+            throw new IOException("Not a saved round");
+        }
+        short version = buffer.getShort();
+        if (version != FORMAT_VERSION && version != VERSION_WITHOUT_LEDGER && version != VERSION_WITHOUT_SEED) {
+            throw new IOException("Unsupported saved round version: " + version);
+        }
+        int width = checkRange(buffer.getShort(), 1, GameSettings.MAXIMAL_GRID_SIZE, "grid width");
+        int height = checkRange(buffer.getShort(), 1, GameSettings.MAXIMAL_GRID_SIZE, "grid height");
+        int playerCount = checkRange(buffer.get(), 2, GameSettings.MAXIMAL_PLAYERS, "player count");
+        int turn = checkRange(buffer.getInt(), 0, MAXIMAL_TURNS, "turn");
+        int activePlayer = buffer.get();
+        Tile currentTile = createTile(buffer.get(), buffer.get());
+        long seed = version == VERSION_WITHOUT_SEED ? new SplittableRandom().nextLong() : buffer.getLong();
+        int[] freeMeeples = new int[playerCount];
+        int[][] scores = new int[playerCount][TERRAINS.length];
+        for (int number = 0; number < playerCount; number++) {
+            freeMeeples[number] = buffer.get();
+            for (int terrain = 0; terrain < TERRAINS.length; terrain++) {
+                scores[number][terrain] = buffer.getInt();
+            }
+        }
+        boolean withLedger = version == FORMAT_VERSION;
+        int eventCount = withLedger ? checkRange(buffer.getInt(), 0, buffer.remaining() / EVENT_RECORD_SIZE, "score event count") : 0;
+        ByteBuffer events = buffer.slice();
+        events.limit(eventCount * EVENT_RECORD_SIZE);
+        buffer.position(buffer.position() + events.limit());
+        int tileCount = checkRange(buffer.getInt(), 1, Math.min(width * height, buffer.remaining() / TILE_RECORD_SIZE), "tile count");
+        Grid grid = new Grid(width, height);
+        Tile[] meepleTiles = new Tile[tileCount];
+        int[] meepleOwners = new int[tileCount];
+        GridDirection[] meeplePositions = new GridDirection[tileCount];
+        for (int index = 0; index < tileCount; index++) {
+            int x = buffer.getShort();
+            int y = buffer.getShort();
+            Tile tile = restoreTile(grid, x, y, buffer.get(), buffer.get());
+            int owner = buffer.get();
+            int position = buffer.get();
+            if (owner != NO_MEEPLE) {
+                meepleTiles[index] = tile;
+                meepleOwners[index] = owner;
+                meeplePositions[index] = POSITIONS[position];
+            }
+        }
+        List<Tile> stackTiles = new ArrayList<>();
+        for (int count = checkRange(buffer.getInt(), 0, buffer.remaining(), "stack size"); count > 0; count--) {
+            stackTiles.add(createTile(buffer.get(), 0));
+        }
+        List<Tile> returnedTiles = new ArrayList<>();
+        for (int count = checkRange(buffer.getInt(), 0, buffer.remaining() / 2, "returned tile count"); count > 0; count--) {
+            returnedTiles.add(createTile(buffer.get(), buffer.get()));
+        }
+        Round round = new Round(playerCount, grid, settings, new TileStack(stackTiles, returnedTiles), seed);
+        restoreScoreEvents(round, events, eventCount, turn);
+        round.restoreTurn(activePlayer, currentTile, turn);
+        for (int index = 0; index < tileCount; index++) {
+            if (meepleTiles[index] != null) {
+                meepleTiles[index].placeMeeple(round.getPlayer(meepleOwners[index]), meeplePositions[index]);
+            }
+        }
+        for (int number = 0; number < playerCount; number++) {
+            Player player = round.getPlayer(number);
+            for (TerrainType terrain : TerrainType.basicTerrain()) {
+                if (!withLedger && scores[number][terrain.ordinal()] != 0) {
+                    player.addScore(scores[number][terrain.ordinal()], terrain); // recorded in the current turn
+                }
+                if (player.getTerrainScore(terrain) != scores[number][terrain.ordinal()]) {
+                    throw new IOException("Inconsistent " + terrain + " score of player " + number);
+                }
+            }
+            if (player.getScore() != scores[number][TerrainType.OTHER.ordinal()] || player.getFreeMeeples() != freeMeeples[number]) {
+                throw new IOException("Inconsistent state of player " + number);
+            }
+        }
+        return round;
+    }
+
+    // adds the scores of the events to the players in the turns of the events, which restores the history of the ledger.
+    private static void restoreScoreEvents(Round round, ByteBuffer events, int eventCount, int lastTurn) throws IOException {
+        ScoreLedger ledger = round.getScoreLedger();
+        for (int event = 0; event < eventCount; event++) {
+            int turn = checkRange(events.getInt(), ledger.getTurn(), lastTurn, "score event turn");
+            int player = checkRange(events.get(), 0, round.getPlayerCount() - 1, "score event player");
+            TerrainType terrain = TERRAINS[events.get()];
+            int amount = events.getInt();
+            int pattern = events.getInt();
+            while (ledger.getTurn() < turn) {
+                ledger.nextTurn();
+            }
+            round.getPlayer(player).addScore(amount, terrain, pattern);
+        }
+    }
+
+    // checks a value of the header before it determines any allocation or loop.
+    private static int checkRange(int value, int minimum, int maximum, String name) throws IOException {
+        if (value < minimum || value > maximum) {
+            throw new IOException("Invalid " + name + " of saved round: " + value);
+        }
+        return value;
+    }
+
+    private static Tile createTile(int type, int rotation) {
+        Tile tile = new Tile(TILE_TYPES[type]);
+        for (int turn = 0; turn < rotation; turn++) {
+            tile.rotateRight();
+        }
+        return tile;
+    }
+
+    // the foundation is already placed by the grid, all other tiles are placed without checking the placement rules.
+    private static Tile restoreTile(Grid grid, int x, int y, int type, int rotation) {
+        GridSpot foundation = grid.getFoundation();
+        if (foundation.getX() == x && foundation.getY() == y && foundation.getTile().getType() == TILE_TYPES[type] && rotation == 0) {
+            return foundation.getTile();
+        }
+        Tile tile = createTile(type, rotation);
+        grid.restore(x, y, tile);
+        return tile;
+    }
+}
@@ -0,0 +1,181 @@
+package carcassonne.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import carcassonne.control.GameEngine;
+import carcassonne.control.GameEventListener;
+import carcassonne.model.Player;
+import carcassonne.model.Round;
+import carcassonne.model.ScoreLedger;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.Tile;
+
+/**
+ * Base class for listeners that record the committed actions of a round as compact binary records. Every record consists
+ * of a type byte and a fixed-size payload, and the records of a turn end with a turn record. Recorded turns can be
+ * replayed through a {@link GameEngine}, which checks that the engine reaches the recorded results.
+ * @author Timur Saglam
+ */
+abstract class TurnRecorder implements GameEventListener {
+    private static final int TILE_PLACED_SIZE = 2 * Short.BYTES + Byte.BYTES; // payload in bytes
+    private static final int PATTERN_SCORED_SIZE = 2 * Byte.BYTES + Integer.BYTES; // payload in bytes
+    /**
+     * The maximal size of a single record in bytes, which consists of the type and the largest payload.
+     */
+    protected static final int MAXIMAL_RECORD_SIZE = Byte.BYTES + Math.max(TILE_PLACED_SIZE, PATTERN_SCORED_SIZE);
+    private static final byte TILE_DRAWN = 1;
+    private static final byte TILE_PLACED = 2;
+    private static final byte MEEPLE_PLACED = 3;
+    private static final byte TILE_SKIPPED = 4;
+    private static final byte PATTERN_SCORED = 5;
+    private static final byte TURN_ENDED = 6;
+    private static final GridDirection[] POSITIONS = GridDirection.values();
+
+    @Override
+    public void tileDrawn(Tile tile, Player player) {
+        record(TILE_DRAWN).put((byte) tile.getType().ordinal());
+    }
+
+    @Override
+    public void tilePlaced(Tile tile, int x, int y) {
+        record(TILE_PLACED).putShort((short) x).putShort((short) y).put((byte) tile.getRotation());
+    }
+
+    @Override
+    public void meeplePlaced(Tile tile, GridDirection position, Player player) {
+        record(MEEPLE_PLACED).put((byte) position.ordinal());
+    }
+
+    @Override
+    public void tileSkipped(Tile tile) {
+        record(TILE_SKIPPED);
+    }
+
+    @Override
+    public void patternScored(Player player, TerrainType terrain, int amount) {
+        record(PATTERN_SCORED).put((byte) player.getNumber()).put((byte) terrain.ordinal()).putInt(amount);
+    }
+
+    @Override
+    public void turnEnded(Round round) {
+        record(TURN_ENDED);
+    }
+
+    /**
+     * Starts a new record.
+     * @param type is the type of the record, which is written by this method.
+     * @return the buffer to which the payload of the record is written, with space for at least
+     * {@link #MAXIMAL_RECORD_SIZE} bytes.
+     */
+    protected abstract ByteBuffer record(byte type);
+
+    /**
+     * Returns the records of the next complete turn and advances the position of the buffer behind them.
+     * @param records is the buffer with the records, which is read from its current position.
+     * @return the records of the turn, or null if there is no complete turn left.
+     */
+    protected static ByteBuffer nextTurn(ByteBuffer records) {
+        int start = records.position();
+        try {
+            while (records.hasRemaining()) {
+                byte type = records.get();
+                records.position(records.position() + payloadSize(type));
+                if (type == TURN_ENDED) {
+                    ByteBuffer turn = records.duplicate();
+                    turn.position(start);
+                    turn.limit(records.position());
+                    return turn.slice();
+                }
+            }
+        } catch (IllegalArgumentException exception) {
+            // torn record at the end of the buffer
+        }
+        records.position(start);
+        return null;
+    }
+
+    /**
+     * Executes the recorded actions of one turn and checks that the engine reaches the recorded results.
+     * @param turn are the records of the turn, as returned by {@link #nextTurn(ByteBuffer)}.
+     * @param engine is the engine whose round is at the start of the turn.
+     * @throws IOException if the actions can not be executed or lead to different results.
+     */
+    protected static void replay(ByteBuffer turn, GameEngine engine) throws IOException {
+        Round round = engine.getRound();
+        ScoreLedger ledger = round.getScoreLedger();
+        List<Long> recordedScores = new ArrayList<>();
+        while (turn.hasRemaining()) {
+            byte type = turn.get();
+            switch (type) {
+            case TILE_DRAWN:
+                int tileType = turn.get();
+                if (round.getCurrentTile().getType().ordinal() != tileType) {
+                    throw new IOException("Records diverge from the tile stack on turn " + ledger.getTurn());
+                }
+                break;
+            case TILE_PLACED:
+                int x = turn.getShort();
+                int y = turn.getShort();
+                int rotation = turn.get();
+                if (rotation < 0 || rotation >= GridDirection.directNeighbors().length) {
+                    throw new IOException("Records contain an invalid rotation on turn " + ledger.getTurn());
+                }
+                Tile tile = round.getCurrentTile();
+                while (tile.getRotation() != rotation) {
+                    tile.rotateRight();
+                }
+                if (!engine.placeTile(x, y)) {
+                    throw new IOException("Records contain an invalid placement on turn " + ledger.getTurn());
+                }
+                break;
+            case MEEPLE_PLACED:
+                engine.placeMeeple(POSITIONS[turn.get()]);
+                break;
+            case TILE_SKIPPED:
+                engine.skipTile();
+                break;
+            case PATTERN_SCORED:
+                recordedScores.add(encodeScore(turn.get(), turn.get(), turn.getInt()));
+                break;
+            default: // turn ended
+                int firstEvent = ledger.getEventCount();
+                engine.endTurn();
+                List<Long> scores = new ArrayList<>();
+                for (int event = firstEvent; event < ledger.getEventCount(); event++) {
+                    scores.add(encodeScore(ledger.getEventPlayer(event), ledger.getEventTerrain(event).ordinal(), ledger.getEventAmount(event)));
+                }
+                Collections.sort(scores); // the order of the patterns of a turn is not fixed
+                Collections.sort(recordedScores);
+                if (!scores.equals(recordedScores)) {
+                    throw new IOException("Records diverge from the scores on turn " + ledger.getTurn());
+                }
+            }
+        }
+    }
+
+    private static long encodeScore(int player, int terrain, int amount) {
+        return (long) player << 40 | (long) terrain << 32 | amount & 0xFFFFFFFFL;
+    }
+
+    private static int payloadSize(byte type) {
+        switch (type) {
+        case TILE_DRAWN:
+        case MEEPLE_PLACED:
+            return Byte.BYTES;
+        case TILE_PLACED:
+            return TILE_PLACED_SIZE;
+        case TILE_SKIPPED:
+        case TURN_ENDED:
+            return 0;
+        case PATTERN_SCORED:
+            return PATTERN_SCORED_SIZE;
+        default:
+            throw new IllegalArgumentException("Unknown record type: " + type);
+        }
+    }
+}
@@ -0,0 +1,204 @@
+package carcassonne.server;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.Consumer;
+
+import carcassonne.control.GameEventListener;
+import carcassonne.model.Meeple;
+import carcassonne.model.Player;
+import carcassonne.model.Round;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.grid.GridSpot;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.Tile;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Collects the changes of every turn of a session and pushes them as one {@link TurnDelta} frame to the subscribers of
+ * the session. Each frame is encoded once and every subscriber gets a duplicate that shares its content, which means the
+ * frame is never copied before it is written to the sockets. Only the coordinates of the occupied tiles are retained
+ * between turns, which keeps a passivated session small.
+ * @author Timur Saglam
+ */
+class DeltaPublisher implements GameEventListener {
+    private static final int MAXIMAL_VARINT_SIZE = 10; // bytes
+    private static final int TERRAIN_COUNT = TerrainType.values().length;
+    private final long session;
+    private final List<Consumer<ByteBuffer>> subscribers;
+    private final int[] scoreChanges; // per player and terrain
+    private int[] occupiedTiles; // x and y of every tile with a meeple
+    private int occupiedCount;
+    private int[] removedMeeples; // x and y of every tile whose meeple was removed during the turn
+    private int removedCount;
+    private int flags;
+    private int x;
+    private int y;
+    private GridDirection meeplePosition;
+    private Round endingRound; // only retained until the delta of the turn is published
+
+    /**
+     * Creates a publisher without subscribers.
+     * @param session is the identifier of the session.
+     */
+    DeltaPublisher(long session) {
+        this.session = session;
+        subscribers = new ArrayList<>();
+        scoreChanges = new int[GameSettings.MAXIMAL_PLAYERS * TERRAIN_COUNT];
+        occupiedTiles = new int[0];
+        removedMeeples = new int[0];
+    }
+
+    /**
+     * Adds a subscriber, which receives the frames of all following turns.
+     * @param subscriber is the subscriber, which must not modify the content of the frames.
+     */
+    void subscribe(Consumer<ByteBuffer> subscriber) {
+        subscribers.add(subscriber);
+    }
+
+    /**
+     * Removes a subscriber.
+     * @param subscriber is the subscriber.
+     */
+    void unsubscribe(Consumer<ByteBuffer> subscriber) {
+        subscribers.remove(subscriber);
+    }
+
+    @Override
+    public void roundStarted(Round round) { // also called when a passivated round is restored
+        occupiedCount = 0;
+        for (int number = 0; number < round.getPlayerCount(); number++) {
+            Player player = round.getPlayer(number);
+            for (int index = 0; index < player.getDeployedMeepleCount(); index++) {
+                Meeple meeple = player.getDeployedMeeple(index);
+                occupy(meeple.getLocation().getGridSpot());
+            }
+        }
+    }
+
+    @Override
+    public void tileDrawn(Tile tile, Player player) {
+        publish(endingRound, tile, player);
+    }
+
+    @Override
+    public void tilePlaced(Tile tile, int x, int y) {
+        flags |= TurnDelta.TILE_PLACED | tile.getRotation();
+        this.x = x;
+        this.y = y;
+    }
+
+    @Override
+    public void meeplePlaced(Tile tile, GridDirection position, Player player) {
+        flags |= TurnDelta.MEEPLE_PLACED;
+        meeplePosition = position;
+        occupy(tile.getGridSpot());
+    }
+
+    @Override
+    public void tileSkipped(Tile tile) {
+        // the flags already describe a skipped tile
+    }
+
+    @Override
+    public void patternScored(Player player, TerrainType terrain, int amount) {
+        scoreChanges[player.getNumber() * TERRAIN_COUNT + terrain.ordinal()] += amount;
+    }
+
+    @Override
+    public void turnEnded(Round round) {
+        collectRemovedMeeples(round);
+        endingRound = round;
+    }
+
+    @Override
+    public void roundEnded(Round round) {
+        collectRemovedMeeples(round);
+        flags |= TurnDelta.ROUND_OVER;
+        publish(round, null, null);
+    }
+
+    // moves the occupied tiles whose meeples were returned by the scoring to the removed meeples.
+    private void collectRemovedMeeples(Round round) {
+        int remaining = 0;
+        for (int index = 0; index < occupiedCount; index += 2) {
+            int tileX = occupiedTiles[index];
+            int tileY = occupiedTiles[index + 1];
+            if (round.getGrid().getSpot(tileX, tileY).getTile().hasMeeple()) {
+                occupiedTiles[remaining++] = tileX;
+                occupiedTiles[remaining++] = tileY;
+            } else {
+                removedMeeples = append(removedMeeples, removedCount, tileX, tileY);
+                removedCount += 2;
+            }
+        }
+        occupiedCount = remaining;
+    }
+
+    private void occupy(GridSpot spot) {
+        occupiedTiles = append(occupiedTiles, occupiedCount, spot.getX(), spot.getY());
+        occupiedCount += 2;
+    }
+
+    // encodes the collected changes and resets them for the next turn.
+    private void publish(Round round, Tile nextTile, Player nextPlayer) {
+        if (!subscribers.isEmpty()) {
+            ByteBuffer frame = encode(round.getStackSize(), nextTile, nextPlayer);
+            for (Consumer<ByteBuffer> subscriber : subscribers) {
+                subscriber.accept(frame.duplicate());
+            }
+        }
+        endingRound = null;
+        flags = 0;
+        meeplePosition = null;
+        removedCount = 0;
+        Arrays.fill(scoreChanges, 0);
+    }
+
+    private ByteBuffer encode(int stackSize, Tile nextTile, Player nextPlayer) {
+        int maximalSize = 4 * Byte.BYTES + (4 + removedCount) * MAXIMAL_VARINT_SIZE // flags, counts, ids and coordinates
+                + scoreChanges.length * (Byte.BYTES + MAXIMAL_VARINT_SIZE) + 2 * Byte.BYTES; // score changes and next turn
+        ByteBuffer frame = GameProtocol.frame(GameProtocol.DELTA, maximalSize);
+        GameProtocol.putVarint(frame, session);
+        frame.put((byte) flags);
+        if ((flags & TurnDelta.TILE_PLACED) != 0) {
+            GameProtocol.putSignedVarint(frame, x);
+            GameProtocol.putSignedVarint(frame, y);
+        }
+        if (meeplePosition != null) {
+            frame.put((byte) meeplePosition.ordinal());
+        }
+        frame.put((byte) (removedCount / 2));
+        for (int index = 0; index < removedCount; index++) {
+            GameProtocol.putSignedVarint(frame, removedMeeples[index]);
+        }
+        int countPosition = frame.position();
+        int changeCount = 0;
+        frame.put((byte) 0); // filled in below
+        for (int index = 0; index < scoreChanges.length; index++) {
+            if (scoreChanges[index] != 0) {
+                int player = index / TERRAIN_COUNT;
+                int terrain = index % TERRAIN_COUNT;
+                frame.put((byte) (player << TurnDelta.TERRAIN_BITS | terrain));
+                GameProtocol.putSignedVarint(frame, scoreChanges[index]);
+                changeCount++;
+            }
+        }
+        frame.put(countPosition, (byte) changeCount);
+        GameProtocol.putVarint(frame, stackSize);
+        if (nextTile != null) {
+            frame.put((byte) nextTile.getType().ordinal()).put((byte) nextPlayer.getNumber());
+        }
+        return GameProtocol.finish(frame);
+    }
+
+    private static int[] append(int[] pairs, int count, int first, int second) {
+        int[] target = count + 2 > pairs.length ? Arrays.copyOf(pairs, Math.max(8, 2 * pairs.length)) : pairs;
+        target[count] = first;
+        target[count + 1] = second;
+        return target;
+    }
+}
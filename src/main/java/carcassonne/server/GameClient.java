@@ -0,0 +1,200 @@
+package carcassonne.server;
+
+import java.io.Closeable;
+import java.io.EOFException;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayDeque;
+import java.util.Queue;
+
+import carcassonne.model.Round;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.persistence.RoundSerializer;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Blocking client for a {@link GameServer} on the same machine. Every method sends one request and waits for its
+ * response, which means a client must not be used by multiple threads at once. The {@link TurnDelta} frames of joined
+ * sessions that arrive before a response are queued until they are requested with {@link #nextDelta()}.
+ * @author Timur Saglam
+ */
+public class GameClient implements Closeable {
+    private static final MoveResult[] RESULTS = MoveResult.values();
+    private final SocketChannel channel;
+    private final ByteBuffer header;
+    private final Queue<TurnDelta> deltas;
+    private byte status; // of the last read frame
+
+    /**
+     * Connects to a server on the loopback address.
+     * @param port is the port of the server.
+     * @throws IOException if the connection fails.
+     */
+    public GameClient(int port) throws IOException {
+        channel = SocketChannel.open(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        channel.socket().setTcpNoDelay(true); // requests are small and answered one by one
+        header = ByteBuffer.allocate(GameProtocol.LENGTH_SIZE + Byte.BYTES);
+        deltas = new ArrayDeque<>();
+    }
+
+    /**
+     * Creates a new session on the server.
+     * @param playerCount is the amount of players.
+     * @param chaosMode specifies whether the tile stack uses random amounts.
+     * @param seed is the seed of the round.
+     * @param width is the width of the grid, at most {@link SessionRegistry#MAXIMAL_GRID_SIZE}.
+     * @param height is the height of the grid, at most {@link SessionRegistry#MAXIMAL_GRID_SIZE}.
+     * @return the identifier of the session.
+     * @throws IOException if the connection fails or the server rejects the session.
+     */
+    public long createSession(int playerCount, boolean chaosMode, long seed, int width, int height) throws IOException {
+        ByteBuffer request = GameProtocol.frame(GameProtocol.CREATE_SESSION, 2 * Byte.BYTES + Long.BYTES + 2 * Short.BYTES);
+        request.put((byte) playerCount).put((byte) (chaosMode ? 1 : 0)).putLong(seed).putShort((short) width).putShort((short) height);
+        return send(request).getLong();
+    }
+
+    /**
+     * Places the current tile of a session.
+     * @param session is the identifier of the session.
+     * @param x is the x coordinate.
+     * @param y is the y coordinate.
+     * @param rotation is the amount of right rotations of the tile, between 0 and 3.
+     * @return the result of the move.
+     * @throws IOException if the connection fails or the session does not exist.
+     */
+    public MoveResult placeTile(long session, int x, int y, int rotation) throws IOException {
+        ByteBuffer request = sessionRequest(GameProtocol.PLACE_TILE, session, 2 * Short.BYTES + Byte.BYTES);
+        return RESULTS[send(request.putShort((short) x).putShort((short) y).put((byte) rotation)).get()];
+    }
+
+    /**
+     * Places a meeple on the placed tile of a session, which ends the turn.
+     * @param session is the identifier of the session.
+     * @param position is the position on the tile.
+     * @return the result of the move.
+     * @throws IOException if the connection fails or the session does not exist.
+     */
+    public MoveResult placeMeeple(long session, GridDirection position) throws IOException {
+        ByteBuffer request = sessionRequest(GameProtocol.PLACE_MEEPLE, session, Byte.BYTES);
+        return RESULTS[send(request.put((byte) position.ordinal())).get()];
+    }
+
+    /**
+     * Skips the current tile of a session, which ends the turn.
+     * @param session is the identifier of the session.
+     * @return the result of the move.
+     * @throws IOException if the connection fails or the session does not exist.
+     */
+    public MoveResult skipTile(long session) throws IOException {
+        return RESULTS[send(sessionRequest(GameProtocol.SKIP_TILE, session, 0)).get()];
+    }
+
+    /**
+     * Ends the turn of a session without placing a meeple on the placed tile.
+     * @param session is the identifier of the session.
+     * @return the result of the move.
+     * @throws IOException if the connection fails or the session does not exist.
+     */
+    public MoveResult skipMeeple(long session) throws IOException {
+        return RESULTS[send(sessionRequest(GameProtocol.SKIP_MEEPLE, session, 0)).get()];
+    }
+
+    /**
+     * Requests the complete state of the round of a session.
+     * @param session is the identifier of the session.
+     * @param settings are the {@link GameSettings} for the players of the round.
+     * @return a copy of the round.
+     * @throws IOException if the connection fails, the session does not exist or a tile is placed.
+     */
+    public Round getRound(long session, GameSettings settings) throws IOException {
+        return RoundSerializer.deserialize(send(sessionRequest(GameProtocol.GET_STATE, session, 0)), settings);
+    }
+
+    /**
+     * Joins a session, which means the server pushes a {@link TurnDelta} after every following turn of the session.
+     * @param session is the identifier of the session.
+     * @param settings are the {@link GameSettings} for the players of the round.
+     * @return a copy of the round, which the first delta applies to.
+     * @throws IOException if the connection fails, the session does not exist or a tile is placed.
+     */
+    public Round joinSession(long session, GameSettings settings) throws IOException {
+        return RoundSerializer.deserialize(send(sessionRequest(GameProtocol.JOIN_SESSION, session, 0)), settings);
+    }
+
+    /**
+     * Returns the next delta of the joined sessions, and waits for it if none is queued.
+     * @return the delta.
+     * @throws IOException if the connection fails or a response arrives instead, which means no request is pending.
+     */
+    public TurnDelta nextDelta() throws IOException {
+        if (deltas.isEmpty()) {
+            ByteBuffer payload = readFrame();
+            if (status != GameProtocol.DELTA) {
+                throw new IOException("Unexpected response without a request");
+            }
+            return TurnDelta.read(payload);
+        }
+        return deltas.poll();
+    }
+
+    /**
+     * Closes a session on the server.
+     * @param session is the identifier of the session.
+     * @throws IOException if the connection fails or the session does not exist.
+     */
+    public void closeSession(long session) throws IOException {
+        send(sessionRequest(GameProtocol.CLOSE_SESSION, session, 0));
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    private static ByteBuffer sessionRequest(byte type, long session, int payloadSize) {
+        return GameProtocol.frame(type, Long.BYTES + payloadSize).putLong(session);
+    }
+
+    // sends the request and returns the payload of the response if it is successful.
+    private ByteBuffer send(ByteBuffer request) throws IOException {
+        GameProtocol.finish(request);
+        while (request.hasRemaining()) {
+            channel.write(request);
+        }
+        ByteBuffer payload = readFrame();
+        while (status == GameProtocol.DELTA) {
+            deltas.add(TurnDelta.read(payload));
+            payload = readFrame();
+        }
+        if (status != GameProtocol.OK) {
+            throw new IOException("Server error: " + GameProtocol.readError(payload));
+        }
+        return payload;
+    }
+
+    // reads the next frame and returns its payload, the type is stored in the status.
+    private ByteBuffer readFrame() throws IOException {
+        header.clear();
+        readFully(header);
+        int length = header.getInt();
+        status = header.get();
+        if (length < 1 || length > GameProtocol.MAXIMAL_RESPONSE_SIZE) {
+            throw new IOException("Invalid frame length: " + length);
+        }
+        ByteBuffer payload = ByteBuffer.allocate(length - Byte.BYTES);
+        readFully(payload);
+        return payload;
+    }
+
+    private void readFully(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            if (channel.read(buffer) < 0) {
+                throw new EOFException("Connection closed by the server");
+            }
+        }
+        buffer.flip();
+    }
+}
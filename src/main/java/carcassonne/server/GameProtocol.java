@@ -0,0 +1,127 @@
+package carcassonne.server;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Constants and helpers of the binary protocol between the {@link GameServer} and the {@link GameClient}. Every message
+ * is a frame that consists of its length as int, followed by a type byte and the payload. Requests start with the type of
+ * the request and, except for the creation of a session, the identifier of the session. Responses start with a status.
+ * Connections that joined a session additionally receive a {@link TurnDelta} frame after every turn of the session,
+ * which is pushed between the responses.
+ * @author Timur Saglam
+ */
+final class GameProtocol {
+    static final int LENGTH_SIZE = Integer.BYTES;
+    static final int MAXIMAL_REQUEST_SIZE = 64; // bytes, without the length
+    static final int MAXIMAL_RESPONSE_SIZE = 1 << 20; // bytes, without the length
+    // requests:
+    static final byte CREATE_SESSION = 1; // player count, chaos mode, seed, grid width and height -> session identifier
+    static final byte PLACE_TILE = 2; // x, y and rotation -> move result
+    static final byte PLACE_MEEPLE = 3; // position -> move result
+    static final byte SKIP_TILE = 4; // -> move result
+    static final byte SKIP_MEEPLE = 5; // -> move result
+    static final byte GET_STATE = 6; // -> serialized round, only between turns
+    static final byte CLOSE_SESSION = 7; // -> nothing
+    static final byte JOIN_SESSION = 8; // -> serialized round, only between turns, followed by the deltas of all turns
+    // responses:
+    static final byte OK = 0;
+    static final byte ERROR = 1; // followed by a message
+    // pushed messages:
+    static final byte DELTA = 2; // followed by a turn delta
+
+    private GameProtocol() {
+        // Private constructor for helper class.
+    }
+
+    /**
+     * Creates a buffer for a frame, whose length is filled in by {@link #finish(ByteBuffer)}.
+     * @param type is the type of the request or the status of the response.
+     * @param payloadSize is the maximal size of the payload.
+     * @return the buffer, which is positioned behind the type.
+     */
+    static ByteBuffer frame(byte type, int payloadSize) {
+        ByteBuffer frame = ByteBuffer.allocate(LENGTH_SIZE + Byte.BYTES + payloadSize);
+        return frame.putInt(0).put(type);
+    }
+
+    /**
+     * Fills in the length of a frame that was created with {@link #frame(byte, int)}.
+     * @param frame is the frame with the complete payload.
+     * @return the frame, ready to be written.
+     */
+    static ByteBuffer finish(ByteBuffer frame) {
+        frame.putInt(0, frame.position() - LENGTH_SIZE).flip();
+        return frame;
+    }
+
+    /**
+     * Creates an error response.
+     * @param message is the description of the error.
+     * @return the response, ready to be written.
+     */
+    static ByteBuffer error(String message) {
+        byte[] text = message.getBytes(StandardCharsets.UTF_8);
+        return finish(frame(ERROR, text.length).put(text));
+    }
+
+    /**
+     * Writes an unsigned variable length integer with seven bits per byte, least significant group first.
+     * @param buffer is the target buffer.
+     * @param value is the non-negative value.
+     */
+    static void putVarint(ByteBuffer buffer, long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.put((byte) (value & 0x7F | 0x80));
+            value >>>= 7;
+        }
+        buffer.put((byte) value);
+    }
+
+    /**
+     * Reads an unsigned variable length integer that was written with {@link #putVarint(ByteBuffer, long)}.
+     * @param buffer is the source buffer.
+     * @return the value.
+     */
+    static long getVarint(ByteBuffer buffer) {
+        long value = 0;
+        for (int shift = 0; shift < Long.SIZE; shift += 7) {
+            byte next = buffer.get();
+            value |= (next & 0x7FL) << shift;
+            if (next >= 0) {
+                return value;
+            }
+        }
+        throw new IllegalArgumentException("Malformed varint");
+    }
+
+    /**
+     * Writes a signed variable length integer, small absolute values take a single byte.
+     * @param buffer is the target buffer.
+     * @param value is the value.
+     */
+    static void putSignedVarint(ByteBuffer buffer, int value) {
+        putVarint(buffer, (value << 1 ^ value >> 31) & 0xFFFFFFFFL); // zigzag encoding
+    }
+
+    /**
+     * Reads a signed variable length integer that was written with {@link #putSignedVarint(ByteBuffer, int)}.
+     * @param buffer is the source buffer.
+     * @return the value.
+     */
+    static int getSignedVarint(ByteBuffer buffer) {
+        int zigzag = (int) getVarint(buffer);
+        return zigzag >>> 1 ^ -(zigzag & 1);
+    }
+
+    /**
+     * Reads the message of an error response.
+     * @param payload is the payload of the response behind the status.
+     * @return the message.
+     */
+    static String readError(ByteBuffer payload) {
+        byte[] text = new byte[payload.remaining()];
+        payload.get(text);
+        return new String(text, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,370 @@
+package carcassonne.server;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.CancelledKeyException;
+import java.nio.channels.ClosedSelectorException;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Headless server that hosts many concurrent rounds, see {@link GameSession}. The server only listens on the loopback
+ * address. A single selector thread reads the requests of all connections without blocking, and the requests are executed
+ * by the sessions on a fixed pool of worker threads. This means neither idle connections nor idle sessions occupy a
+ * thread, and sessions that are idle for {@link #IDLE_TIMEOUT} are passivated to a few hundred bytes. The responses are
+ * queued per connection and written by the selector thread with gathering writes, together with the {@link TurnDelta}
+ * frames of the joined sessions. A connection whose client does not read its frames is closed as soon as more than
+ * {@link #MAXIMAL_QUEUED_BYTES} are queued for it, which bounds the memory of slow clients. See {@link GameProtocol} for
+ * the format of the messages and {@link GameClient} for a client.
+ * @author Timur Saglam
+ */
+public class GameServer implements Closeable {
+    /**
+     * The time in milliseconds after which a session that is idle between two turns is passivated.
+     */
+    public static final long IDLE_TIMEOUT = 60000;
+    /**
+     * The maximal amount of bytes that are queued for a connection before it is closed.
+     */
+    public static final int MAXIMAL_QUEUED_BYTES = 1 << 20;
+    private static final int SHUTDOWN_TIMEOUT = 5; // seconds
+    private static final int MAXIMAL_GATHERED_FRAMES = 64; // per write
+    private final ServerSocketChannel serverChannel;
+    private final Selector selector;
+    private final ExecutorService workers;
+    private final SessionRegistry registry;
+    private final Queue<Connection> pendingWrites;
+    private final Thread selectorThread;
+    private volatile boolean running;
+
+    /**
+     * Creates a server and starts to accept connections.
+     * @param port is the port on the loopback address, or 0 for any free port.
+     * @param workerThreads is the amount of worker threads that execute the requests of all sessions.
+     * @throws IOException if the port can not be bound.
+     */
+    public GameServer(int port, int workerThreads) throws IOException {
+        AtomicInteger workerCount = new AtomicInteger();
+        workers = Executors.newFixedThreadPool(workerThreads, runnable -> {
+            Thread thread = new Thread(runnable, "GameServer worker " + workerCount.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+        registry = new SessionRegistry(workers);
+        pendingWrites = new ConcurrentLinkedQueue<>();
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+        running = true;
+        selectorThread = new Thread(this::run, "GameServer selector");
+        selectorThread.start();
+    }
+
+    /**
+     * Starts a server on the loopback address with one worker thread per processor.
+     * @param args can contain the port, the default is 0 for any free port.
+     * @throws IOException if the server can not be started.
+     */
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : 0;
+        GameServer server = new GameServer(port, Runtime.getRuntime().availableProcessors());
+        System.out.println("Carcassonne server listening on port " + server.getPort());
+    }
+
+    /**
+     * Getter for the port of the server.
+     * @return the local port.
+     */
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    /**
+     * Getter for the registry of the sessions.
+     * @return the {@link SessionRegistry}.
+     */
+    public SessionRegistry getRegistry() {
+        return registry;
+    }
+
+    /**
+     * Stops the server, closes all connections and waits for the running requests to finish.
+     * @throws IOException if the server socket can not be closed.
+     */
+    @Override
+    public void close() throws IOException {
+        running = false;
+        selector.wakeup();
+        try {
+            selectorThread.join();
+            workers.shutdown();
+            workers.awaitTermination(SHUTDOWN_TIMEOUT, TimeUnit.SECONDS);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    // the selector loop, which accepts connections, reads requests and writes the queued responses.
+    private void run() {
+        try {
+            long nextPassivation = System.currentTimeMillis() + IDLE_TIMEOUT;
+            while (running) {
+                selector.select(IDLE_TIMEOUT);
+                if (System.currentTimeMillis() >= nextPassivation) {
+                    registry.passivateIdleSessions(IDLE_TIMEOUT);
+                    nextPassivation = System.currentTimeMillis() + IDLE_TIMEOUT;
+                }
+                for (Connection connection = pendingWrites.poll(); connection != null; connection = pendingWrites.poll()) {
+                    connection.writeQueued.set(false); // frames queued from now on queue the connection again
+                    connection.enableWriting();
+                }
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (key.isValid() && key.isAcceptable()) {
+                        accept();
+                    }
+                    if (key.isValid() && key.isReadable()) {
+                        ((Connection) key.attachment()).read();
+                    }
+                    if (key.isValid() && key.isWritable()) {
+                        ((Connection) key.attachment()).write();
+                    }
+                }
+            }
+        } catch (IOException | ClosedSelectorException exception) {
+            exception.printStackTrace();
+        } finally {
+            for (SelectionKey key : selector.keys()) {
+                closeQuietly(key.channel());
+            }
+            closeQuietly(selector);
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel = serverChannel.accept();
+        if (channel != null) {
+            channel.configureBlocking(false);
+            channel.register(selector, SelectionKey.OP_READ, new Connection(channel));
+        }
+    }
+
+    // executes a request, requests for a session are executed by the session after its earlier requests.
+    private void handle(Connection connection, ByteBuffer request) {
+        byte type = request.get();
+        if (type == GameProtocol.CREATE_SESSION) {
+            workers.execute(() -> connection.send(createSession(request)));
+            return;
+        }
+        if (request.remaining() < Long.BYTES) {
+            connection.send(GameProtocol.error("Incomplete request: " + type));
+            return;
+        }
+        long id = request.getLong();
+        GameSession session = registry.get(id);
+        if (session == null) {
+            connection.send(GameProtocol.error("Unknown session: " + id));
+        } else {
+            session.execute(() -> connection.send(execute(connection, session, type, request)));
+        }
+    }
+
+    private ByteBuffer createSession(ByteBuffer request) {
+        try {
+            GameSession session = registry.create(request.get(), request.get() != 0, request.getLong(), request.getShort(), request.getShort());
+            return GameProtocol.finish(GameProtocol.frame(GameProtocol.OK, Long.BYTES).putLong(session.getId()));
+        } catch (IllegalArgumentException | BufferUnderflowException exception) {
+            return GameProtocol.error("Invalid session: " + exception.getMessage());
+        }
+    }
+
+    private ByteBuffer execute(Connection connection, GameSession session, byte type, ByteBuffer request) {
+        try {
+            switch (type) {
+            case GameProtocol.PLACE_TILE:
+                return moveResult(session.placeTile(request.getShort(), request.getShort(), request.get()));
+            case GameProtocol.PLACE_MEEPLE:
+                return moveResult(session.placeMeeple(request.get()));
+            case GameProtocol.SKIP_TILE:
+                return moveResult(session.skipTile());
+            case GameProtocol.SKIP_MEEPLE:
+                return moveResult(session.skipMeeple());
+            case GameProtocol.GET_STATE:
+            case GameProtocol.JOIN_SESSION:
+                if (!session.isBetweenTurns() || session.isOver()) {
+                    return GameProtocol.error("The state is only available between turns");
+                }
+                ByteBuffer state = type == GameProtocol.GET_STATE ? session.getState() : connection.join(session);
+                return GameProtocol.finish(GameProtocol.frame(GameProtocol.OK, state.remaining()).put(state));
+            case GameProtocol.CLOSE_SESSION:
+                registry.remove(session.getId());
+                return GameProtocol.finish(GameProtocol.frame(GameProtocol.OK, 0));
+            default:
+                return GameProtocol.error("Unknown request: " + type);
+            }
+        } catch (BufferUnderflowException exception) {
+            return GameProtocol.error("Incomplete request: " + type);
+        } catch (RuntimeException exception) { // the client must always get a response
+            exception.printStackTrace();
+            return GameProtocol.error("Request failed: " + exception.getMessage());
+        }
+    }
+
+    private static ByteBuffer moveResult(MoveResult result) {
+        return GameProtocol.finish(GameProtocol.frame(GameProtocol.OK, Byte.BYTES).put((byte) result.ordinal()));
+    }
+
+    private static void closeQuietly(Closeable closeable) {
+        try {
+            closeable.close();
+        } catch (IOException exception) {
+            exception.printStackTrace();
+        }
+    }
+
+    // a client connection with the partially read request, the queue of outgoing frames and the joined sessions.
+    private class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer inbound;
+        private final Queue<ByteBuffer> outbound;
+        private final AtomicInteger queuedBytes; // of the frames in the outbound queue that are not written yet
+        private final AtomicBoolean writeQueued; // whether the connection is in the pending writes
+        private final AtomicBoolean closed;
+        private final ByteBuffer[] gathered;
+        private final Consumer<ByteBuffer> deltaSink;
+        private final Set<GameSession> joinedSessions;
+
+        Connection(SocketChannel channel) {
+            this.channel = channel;
+            inbound = ByteBuffer.allocate(GameProtocol.LENGTH_SIZE + GameProtocol.MAXIMAL_REQUEST_SIZE);
+            outbound = new ConcurrentLinkedQueue<>();
+            queuedBytes = new AtomicInteger();
+            writeQueued = new AtomicBoolean();
+            closed = new AtomicBoolean();
+            gathered = new ByteBuffer[MAXIMAL_GATHERED_FRAMES];
+            deltaSink = this::send;
+            joinedSessions = ConcurrentHashMap.newKeySet();
+        }
+
+        // subscribes to the deltas of a session, which must be called from a task of the session.
+        ByteBuffer join(GameSession session) {
+            joinedSessions.add(session);
+            ByteBuffer snapshot = session.join(deltaSink);
+            if (closed.get()) { // closed before the session was added, so the close did not leave it
+                session.leave(deltaSink);
+            }
+            return snapshot;
+        }
+
+        // queues a frame, which can be called from any thread. The connection is closed if its client reads too slowly.
+        void send(ByteBuffer frame) {
+            if (closed.get()) {
+                return;
+            }
+            if (queuedBytes.addAndGet(frame.remaining()) > MAXIMAL_QUEUED_BYTES) {
+                close();
+                return;
+            }
+            outbound.add(frame);
+            if (writeQueued.compareAndSet(false, true)) {
+                pendingWrites.add(this);
+                selector.wakeup();
+            }
+        }
+
+        void enableWriting() {
+            SelectionKey key = channel.keyFor(selector);
+            try {
+                if (key != null && key.isValid()) {
+                    key.interestOps(SelectionKey.OP_READ | SelectionKey.OP_WRITE);
+                }
+            } catch (CancelledKeyException exception) {
+                // closed by a worker thread in the meantime
+            }
+        }
+
+        // reads all complete requests, a connection with an invalid frame is closed.
+        void read() {
+            try {
+                if (channel.read(inbound) < 0) {
+                    close();
+                    return;
+                }
+                inbound.flip();
+                while (inbound.remaining() >= GameProtocol.LENGTH_SIZE) {
+                    int length = inbound.getInt(inbound.position());
+                    if (length < 1 || length > GameProtocol.MAXIMAL_REQUEST_SIZE) {
+                        close();
+                        return;
+                    }
+                    if (inbound.remaining() < GameProtocol.LENGTH_SIZE + length) {
+                        break;
+                    }
+                    inbound.position(inbound.position() + GameProtocol.LENGTH_SIZE);
+                    byte[] request = new byte[length];
+                    inbound.get(request);
+                    handle(this, ByteBuffer.wrap(request));
+                }
+                inbound.compact();
+            } catch (IOException exception) {
+                close();
+            }
+        }
+
+        // writes the queued frames with one gathering write, the frames are removed once they are written completely.
+        void write() {
+            try {
+                int count = 0;
+                for (Iterator<ByteBuffer> frames = outbound.iterator(); frames.hasNext() && count < gathered.length; count++) {
+                    gathered[count] = frames.next();
+                }
+                queuedBytes.addAndGet((int) -channel.write(gathered, 0, count));
+                Arrays.fill(gathered, 0, count, null);
+                while (!outbound.isEmpty() && !outbound.peek().hasRemaining()) {
+                    outbound.poll();
+                }
+                if (!outbound.isEmpty()) {
+                    return; // wait until the socket is writable again
+                }
+                channel.keyFor(selector).interestOps(SelectionKey.OP_READ);
+            } catch (IOException | CancelledKeyException exception) { // the key is cancelled if a worker thread closed it
+                close();
+            }
+        }
+
+        // closes the connection and releases its queued frames, which can be called from any thread.
+        void close() {
+            if (!closed.compareAndSet(false, true)) {
+                return;
+            }
+            closeQuietly(channel);
+            selector.wakeup(); // the socket is only released once the selector drops the cancelled key
+            outbound.clear();
+            for (GameSession session : joinedSessions) {
+                session.execute(() -> session.leave(deltaSink));
+            }
+        }
+    }
+}
@@ -0,0 +1,257 @@
+package carcassonne.server;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+import carcassonne.control.GameEngine;
+import carcassonne.model.Round;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.tile.Tile;
+import carcassonne.persistence.RoundSerializer;
+import carcassonne.settings.GameSettings;
+
+/**
+ * A round that is hosted by a {@link GameServer}, which executes the moves of the players through a headless
+ * {@link GameEngine} according to the same rules as the user interface. Every session is a logical thread: its tasks are
+ * executed one after another on a shared pool of worker threads, which means an idle session does not occupy a thread.
+ * A session that is idle between two turns can be passivated, which replaces its round by the few hundred bytes of the
+ * {@link RoundSerializer}. The round is restored with the next move. All methods except {@link #execute(Runnable)} and
+ * {@link #isPassivated()} must only be called from tasks of the session.
+ * @author Timur Saglam
+ */
+public class GameSession {
+    private static final int MAXIMAL_BATCH = 64; // tasks before other sessions get the worker
+    private static final GridDirection[] POSITIONS = GridDirection.values();
+    private final long id;
+    private final GameEngine engine;
+    private final DeltaPublisher deltas;
+    private final GameSettings settings;
+    private final Executor workers;
+    private final Queue<Runnable> tasks;
+    private final AtomicBoolean scheduled;
+    private boolean tilePlaced;
+    private boolean over; // other than the round, which is already over while its last tile is placed
+    private volatile ByteBuffer passivatedRound; // null while the session is active
+    private volatile long lastActivity;
+
+    /**
+     * Creates a session and starts its round.
+     * @param id is the identifier of the session.
+     * @param round is the new round, whose first tile is not drawn yet.
+     * @param settings are the {@link GameSettings} of the round, which are needed to restore a passivated round.
+     * @param workers are the worker threads that execute the tasks of the session.
+     */
+    GameSession(long id, Round round, GameSettings settings, Executor workers) {
+        this.id = id;
+        this.settings = settings;
+        this.workers = workers;
+        lastActivity = System.nanoTime();
+        tasks = new ConcurrentLinkedQueue<>();
+        scheduled = new AtomicBoolean();
+        engine = new GameEngine();
+        deltas = new DeltaPublisher(id);
+        engine.addListener(deltas);
+        engine.startRound(round);
+    }
+
+    /**
+     * Getter for the identifier of the session.
+     * @return the identifier.
+     */
+    public long getId() {
+        return id;
+    }
+
+    /**
+     * Getter for the engine of the session, e.g. to register listeners. The engine has no round while the session is
+     * passivated.
+     * @return the {@link GameEngine}.
+     */
+    public GameEngine getEngine() {
+        return engine;
+    }
+
+    /**
+     * Executes a task in the context of the session, after all earlier tasks of the session. Can be called from any
+     * thread.
+     * @param task is the task to execute.
+     */
+    public void execute(Runnable task) {
+        tasks.add(task);
+        schedule();
+    }
+
+    /**
+     * Places the current tile.
+     * @param x is the x coordinate.
+     * @param y is the y coordinate.
+     * @param rotation is the amount of right rotations of the tile, between 0 and 3.
+     * @return {@link MoveResult#TILE_PLACED} or {@link MoveResult#REJECTED}.
+     */
+    MoveResult placeTile(int x, int y, int rotation) {
+        if (isOver() || tilePlaced || rotation < 0 || rotation >= GridDirection.directNeighbors().length) {
+            return MoveResult.REJECTED;
+        }
+        Round round = activeRound();
+        if (!round.getGrid().isOnGrid(x, y)) {
+            return MoveResult.REJECTED;
+        }
+        Tile tile = round.getCurrentTile();
+        while (tile.getRotation() != rotation) {
+            tile.rotateRight();
+        }
+        tilePlaced = engine.placeTile(x, y);
+        return tilePlaced ? MoveResult.TILE_PLACED : MoveResult.REJECTED;
+    }
+
+    /**
+     * Places a meeple of the active player on the placed tile and ends the turn.
+     * @param position is the ordinal of the {@link GridDirection} on the tile.
+     * @return the result of the move.
+     */
+    MoveResult placeMeeple(int position) {
+        if (!tilePlaced || position < 0 || position >= POSITIONS.length) {
+            return MoveResult.REJECTED;
+        }
+        Round round = activeRound();
+        GridDirection direction = POSITIONS[position];
+        if (!round.getActivePlayer().hasFreeMeeples() || !round.getCurrentTile().hasMeepleSpot(direction) || !engine.isPlaceable(direction)) {
+            return MoveResult.REJECTED;
+        }
+        engine.placeMeeple(direction);
+        return endTurn();
+    }
+
+    /**
+     * Skips the placement of a meeple on the placed tile and ends the turn.
+     * @return the result of the move.
+     */
+    MoveResult skipMeeple() {
+        return tilePlaced ? endTurn() : MoveResult.REJECTED;
+    }
+
+    /**
+     * Skips the current tile and ends the turn.
+     * @return the result of the move.
+     */
+    MoveResult skipTile() {
+        if (isOver() || tilePlaced) {
+            return MoveResult.REJECTED;
+        }
+        activeRound();
+        engine.skipTile();
+        return endTurn();
+    }
+
+    /**
+     * Returns the state of the round, without restoring a passivated round. Must only be called between two turns.
+     * @return the serialized round, see {@link RoundSerializer#serialize(Round)}.
+     */
+    ByteBuffer getState() {
+        ByteBuffer state = passivatedRound;
+        return state == null ? RoundSerializer.serialize(engine.getRound()) : state.duplicate();
+    }
+
+    /**
+     * Subscribes to the {@link TurnDelta} frames of all following turns. Must only be called between two turns.
+     * @param subscriber receives the frames, which share their content and must not be modified.
+     * @return the serialized round that the first delta applies to, see {@link RoundSerializer#serialize(Round)}.
+     */
+    ByteBuffer join(Consumer<ByteBuffer> subscriber) {
+        deltas.subscribe(subscriber);
+        return getState();
+    }
+
+    /**
+     * Removes a subscriber that was added with {@link #join(Consumer)}.
+     * @param subscriber is the subscriber.
+     */
+    void leave(Consumer<ByteBuffer> subscriber) {
+        deltas.unsubscribe(subscriber);
+    }
+
+    /**
+     * Passivates the session if it is idle between two turns for a specific time.
+     * @param idleTime is the minimal idle time in nanoseconds.
+     */
+    void passivate(long idleTime) {
+        if (passivatedRound == null && !tilePlaced && !over && System.nanoTime() - lastActivity >= idleTime) {
+            passivatedRound = RoundSerializer.serialize(engine.getRound());
+            engine.releaseRound();
+        }
+    }
+
+    /**
+     * Checks whether the session is passivated. Can be called from any thread.
+     * @return true if the round of the session is only stored in serialized form.
+     */
+    public boolean isPassivated() {
+        return passivatedRound != null;
+    }
+
+    /**
+     * Checks whether the current turn did not start yet, which means no tile is placed.
+     * @return true if the round is between two turns.
+     */
+    boolean isBetweenTurns() {
+        return !tilePlaced;
+    }
+
+    /**
+     * Checks whether the round of the session is over.
+     * @return true if it is over and all patterns are scored.
+     */
+    boolean isOver() {
+        return over;
+    }
+
+    // restores the round if the session is passivated.
+    private Round activeRound() {
+        ByteBuffer state = passivatedRound;
+        if (state != null) {
+            try {
+                engine.resumeRound(RoundSerializer.deserialize(state.duplicate(), settings));
+            } catch (IOException exception) {
+                throw new IllegalStateException("Passivated round of session " + id + " can not be restored", exception);
+            }
+            passivatedRound = null;
+        }
+        lastActivity = System.nanoTime();
+        return engine.getRound();
+    }
+
+    private MoveResult endTurn() {
+        tilePlaced = false;
+        if (engine.endTurn()) {
+            return MoveResult.NEXT_TURN;
+        }
+        engine.finishRound();
+        over = true;
+        return MoveResult.ROUND_OVER;
+    }
+
+    // ensures a worker drains the tasks unless one is already doing it.
+    private void schedule() {
+        if (!tasks.isEmpty() && scheduled.compareAndSet(false, true)) {
+            workers.execute(this::drain);
+        }
+    }
+
+    private void drain() {
+        Runnable task;
+        for (int count = 0; count < MAXIMAL_BATCH && (task = tasks.poll()) != null; count++) {
+            try {
+                task.run();
+            } catch (RuntimeException exception) {
+                exception.printStackTrace(); // the following tasks of the session are still executed
+            }
+        }
+        scheduled.set(false);
+        schedule(); // tasks that were added meanwhile or exceeded the batch
+    }
+}
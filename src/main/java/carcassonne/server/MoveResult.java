@@ -0,0 +1,24 @@
+package carcassonne.server;
+
+/**
+ * Enumeration for the result of a move that was sent to a {@link GameServer}.
+ * @author Timur Saglam
+ */
+public enum MoveResult {
+    /**
+     * The move is not allowed in the current state of the round and was ignored.
+     */
+    REJECTED,
+    /**
+     * The tile was placed, the player can place a meeple or skip it now.
+     */
+    TILE_PLACED,
+    /**
+     * The turn ended and the next turn started.
+     */
+    NEXT_TURN,
+    /**
+     * The turn ended and the round is over, all patterns are scored.
+     */
+    ROUND_OVER;
+}
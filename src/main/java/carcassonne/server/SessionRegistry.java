@@ -0,0 +1,100 @@
+package carcassonne.server;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import carcassonne.model.Round;
+import carcassonne.model.grid.Grid;
+import carcassonne.settings.GameSettings;
+
+/**
+ * Thread-safe registry of the sessions of a {@link GameServer}. A session stays registered until it is closed, also after
+ * its round is over.
+ * @author Timur Saglam
+ */
+public class SessionRegistry {
+    /**
+     * The maximal width and height of the grid of a session, which is comparable to the board of the user interface. The
+     * memory of a session and the duration of every turn and snapshot grow with the area of its grid.
+     */
+    public static final int MAXIMAL_GRID_SIZE = 64;
+    private final Map<Long, GameSession> sessions;
+    private final AtomicLong nextId;
+    private final Executor workers;
+
+    /**
+     * Creates an empty registry.
+     * @param workers are the worker threads that execute the tasks of all sessions.
+     */
+    public SessionRegistry(Executor workers) {
+        this.workers = workers;
+        sessions = new ConcurrentHashMap<>();
+        nextId = new AtomicLong(1);
+    }
+
+    /**
+     * Creates and registers a session with a new round.
+     * @param playerCount is the amount of players.
+     * @param chaosMode specifies whether the tile stack of the round uses random amounts.
+     * @param seed is the seed of the round.
+     * @param width is the width of the grid, at most {@link #MAXIMAL_GRID_SIZE}.
+     * @param height is the height of the grid, at most {@link #MAXIMAL_GRID_SIZE}.
+     * @return the new session.
+     */
+    public GameSession create(int playerCount, boolean chaosMode, long seed, int width, int height) {
+        if (playerCount < 2 || playerCount > GameSettings.MAXIMAL_PLAYERS) {
+            throw new IllegalArgumentException("Invalid player count: " + playerCount);
+        }
+        if (width < 1 || height < 1 || width > MAXIMAL_GRID_SIZE || height > MAXIMAL_GRID_SIZE) {
+            throw new IllegalArgumentException("Invalid grid size: " + width + "x" + height);
+        }
+        GameSettings settings = new GameSettings();
+        settings.setChaosMode(chaosMode);
+        Round round = new Round(playerCount, new Grid(width, height), settings, seed);
+        GameSession session = new GameSession(nextId.getAndIncrement(), round, settings, workers);
+        sessions.put(session.getId(), session);
+        return session;
+    }
+
+    /**
+     * Returns a registered session.
+     * @param id is the identifier of the session.
+     * @return the session, or null if there is no session with the identifier.
+     */
+    public GameSession get(long id) {
+        return sessions.get(id);
+    }
+
+    /**
+     * Removes a session from the registry. Tasks of the session that are already waiting are still executed.
+     * @param id is the identifier of the session.
+     * @return the removed session, or null if there was no session with the identifier.
+     */
+    public GameSession remove(long id) {
+        return sessions.remove(id);
+    }
+
+    /**
+     * Passivates all sessions that are idle between two turns for a specific time, see {@link GameSession}.
+     * @param idleTime is the minimal idle time in milliseconds.
+     */
+    public void passivateIdleSessions(long idleTime) {
+        long idleNanos = TimeUnit.MILLISECONDS.toNanos(idleTime);
+        for (GameSession session : sessions.values()) {
+            if (!session.isPassivated()) {
+                session.execute(() -> session.passivate(idleNanos));
+            }
+        }
+    }
+
+    /**
+     * Getter for the amount of registered sessions.
+     * @return the amount of sessions.
+     */
+    public int size() {
+        return sessions.size();
+    }
+}
@@ -0,0 +1,212 @@
+package carcassonne.server;
+
+import java.nio.ByteBuffer;
+
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.TileType;
+
+/**
+ * The changes of a round during one turn, which a {@link GameServer} pushes to all connections that joined the session.
+ * Together with the snapshot that is sent on joining, the deltas describe the complete course of the round. The last
+ * delta of a round also contains the final scoring and the meeples that are returned by it.
+ * <p>
+ * Encoding behind the session identifier (varint): a flags byte with the rotation in the lowest two bits, followed by the
+ * coordinates of the placed tile, the position of the placed meeple, the coordinates of the tiles whose meeples were
+ * removed, the score changes per player and terrain, the stack size and, unless the round is over, the drawn tile and the
+ * active player of the next turn. Coordinates and amounts are zigzag varints, which keeps a typical turn below twenty
+ * bytes.
+ * @author Timur Saglam
+ */
+public class TurnDelta {
+    static final int TILE_PLACED = 1 << 2;
+    static final int MEEPLE_PLACED = 1 << 3;
+    static final int ROUND_OVER = 1 << 4;
+    static final int ROTATION_MASK = 0b11;
+    static final int TERRAIN_BITS = 3; // of the combined player and terrain byte of a score change
+    private static final GridDirection[] POSITIONS = GridDirection.values();
+    private static final TerrainType[] TERRAINS = TerrainType.values();
+    private static final TileType[] TILE_TYPES = TileType.values();
+    private final long session;
+    private final int flags;
+    private final int x;
+    private final int y;
+    private final GridDirection meeplePosition;
+    private final int[] removedMeeples; // x and y per meeple
+    private final int[] scoreChanges; // player, terrain and amount per change
+    private final int stackSize;
+    private final TileType nextTile;
+    private final int nextPlayer;
+
+    private TurnDelta(ByteBuffer payload) {
+        session = GameProtocol.getVarint(payload);
+        flags = payload.get();
+        x = (flags & TILE_PLACED) == 0 ? 0 : GameProtocol.getSignedVarint(payload);
+        y = (flags & TILE_PLACED) == 0 ? 0 : GameProtocol.getSignedVarint(payload);
+        meeplePosition = (flags & MEEPLE_PLACED) == 0 ? null : POSITIONS[payload.get()];
+        removedMeeples = new int[2 * Byte.toUnsignedInt(payload.get())];
+        for (int index = 0; index < removedMeeples.length; index++) {
+            removedMeeples[index] = GameProtocol.getSignedVarint(payload);
+        }
+        scoreChanges = new int[3 * Byte.toUnsignedInt(payload.get())];
+        for (int index = 0; index < scoreChanges.length; index += 3) {
+            int playerAndTerrain = Byte.toUnsignedInt(payload.get());
+            scoreChanges[index] = playerAndTerrain >>> TERRAIN_BITS;
+            scoreChanges[index + 1] = playerAndTerrain & (1 << TERRAIN_BITS) - 1;
+            scoreChanges[index + 2] = GameProtocol.getSignedVarint(payload);
+        }
+        stackSize = (int) GameProtocol.getVarint(payload);
+        nextTile = isRoundOver() ? null : TILE_TYPES[payload.get()];
+        nextPlayer = isRoundOver() ? -1 : payload.get();
+    }
+
+    /**
+     * Decodes a delta.
+     * @param payload is the payload of a {@link GameProtocol#DELTA} frame behind the type.
+     * @return the decoded delta.
+     */
+    static TurnDelta read(ByteBuffer payload) {
+        return new TurnDelta(payload);
+    }
+
+    /**
+     * Getter for the identifier of the session.
+     * @return the session identifier.
+     */
+    public long getSession() {
+        return session;
+    }
+
+    /**
+     * Checks whether the tile of the turn was placed, otherwise it was skipped.
+     * @return true if it was placed.
+     */
+    public boolean isTilePlaced() {
+        return (flags & TILE_PLACED) != 0;
+    }
+
+    /**
+     * Getter for the x coordinate of the placed tile.
+     * @return the x coordinate, or 0 if the tile was skipped.
+     */
+    public int getX() {
+        return x;
+    }
+
+    /**
+     * Getter for the y coordinate of the placed tile.
+     * @return the y coordinate, or 0 if the tile was skipped.
+     */
+    public int getY() {
+        return y;
+    }
+
+    /**
+     * Getter for the rotation of the placed tile.
+     * @return the amount of right rotations, between 0 and 3.
+     */
+    public int getRotation() {
+        return flags & ROTATION_MASK;
+    }
+
+    /**
+     * Getter for the position of the meeple that the active player placed on the tile.
+     * @return the position, or null if no meeple was placed.
+     */
+    public GridDirection getMeeplePosition() {
+        return meeplePosition;
+    }
+
+    /**
+     * Getter for the amount of meeples that were returned to their owners because their patterns were scored.
+     * @return the amount of removed meeples.
+     */
+    public int getRemovedMeepleCount() {
+        return removedMeeples.length / 2;
+    }
+
+    /**
+     * Getter for the x coordinate of the tile of a removed meeple. A tile carries at most one meeple.
+     * @param index is the index of the removed meeple, in the range of [0, {@link #getRemovedMeepleCount()}).
+     * @return the x coordinate.
+     */
+    public int getRemovedMeepleX(int index) {
+        return removedMeeples[2 * index];
+    }
+
+    /**
+     * Getter for the y coordinate of the tile of a removed meeple.
+     * @param index is the index of the removed meeple, in the range of [0, {@link #getRemovedMeepleCount()}).
+     * @return the y coordinate.
+     */
+    public int getRemovedMeepleY(int index) {
+        return removedMeeples[2 * index + 1];
+    }
+
+    /**
+     * Getter for the amount of score changes, there is at most one change per player and terrain.
+     * @return the amount of score changes.
+     */
+    public int getScoreChangeCount() {
+        return scoreChanges.length / 3;
+    }
+
+    /**
+     * Getter for the player of a score change.
+     * @param index is the index of the score change, in the range of [0, {@link #getScoreChangeCount()}).
+     * @return the number of the player.
+     */
+    public int getScoreChangePlayer(int index) {
+        return scoreChanges[3 * index];
+    }
+
+    /**
+     * Getter for the terrain of a score change.
+     * @param index is the index of the score change, in the range of [0, {@link #getScoreChangeCount()}).
+     * @return the terrain of the scored patterns.
+     */
+    public TerrainType getScoreChangeTerrain(int index) {
+        return TERRAINS[scoreChanges[3 * index + 1]];
+    }
+
+    /**
+     * Getter for the amount of a score change.
+     * @param index is the index of the score change, in the range of [0, {@link #getScoreChangeCount()}).
+     * @return the amount of points.
+     */
+    public int getScoreChangeAmount(int index) {
+        return scoreChanges[3 * index + 2];
+    }
+
+    /**
+     * Getter for the size of the tile stack after the turn.
+     * @return the amount of tiles on the stack.
+     */
+    public int getStackSize() {
+        return stackSize;
+    }
+
+    /**
+     * Checks whether the round ended with this turn, which means the final scoring is included.
+     * @return true if the round is over.
+     */
+    public boolean isRoundOver() {
+        return (flags & ROUND_OVER) != 0;
+    }
+
+    /**
+     * Getter for the tile that was drawn for the next turn.
+     * @return the type of the tile, or null if the round is over.
+     */
+    public TileType getNextTile() {
+        return nextTile;
+    }
+
+    /**
+     * Getter for the player of the next turn.
+     * @return the number of the player, or -1 if the round is over.
+     */
+    public int getNextPlayer() {
+        return nextPlayer;
+    }
+}
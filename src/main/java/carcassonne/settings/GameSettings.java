@@ -15,11 +15,21 @@ import carcassonne.model.terrain.TerrainType;
 public class GameSettings {
     public static final int MAXIMAL_PLAYERS = 5;
     public static final int TILE_SIZE = 100;
+    public static final int MINIMAL_TILE_SIZE = 50; // smallest zoom level, determines the grid size
+    public static final int MAXIMAL_TILE_SIZE = 150; // largest zoom level
+    public static final int MAXIMAL_GRID_SIZE = 256; // width or height, more than any screen shows at the smallest zoom level
     public static final String TILE_FILE_TYPE = ".png";
+    public static final String RESSOURCE_FOLDER_PATH = "src/main/ressources/";
+    public static final String ASSET_BUNDLE_NAME = "assets.bundle";
+    public static final String ASSET_BUNDLE_PATH = "src/main/ressources/assets.bundle";
+    public static final String ICON_FOLDER_PATH = "src/main/ressources/icons/";
     public static final String HIGHLIGHT_PATH = "src/main/ressources/highlight.png";
-    public static final String NULL_TILE_PATH = "src/main/ressources/tiles/Null0.png";
+    public static final String NULL_TILE_PATH = "src/main/ressources/tiles/Null.png";
+    public static final String EMPTY_TILE_PATH = "src/main/ressources/tiles/Empty.png";
     public static final String EMBLEM_PATH = "src/main/ressources/emblem.png";
     public static final String TILE_FOLDER_PATH = "src/main/ressources/tiles/";
+    public static final String JOURNAL_FILE_NAME = ".carcassonne.journal"; // in the home directory of the user
+    public static final String AUTOSAVE_FILE_NAME = "carcassonne.autosave.csav"; // in the home directory, can be loaded like a saved game
     
     private static final PlayerColor[] DEFAULT_COLORS = { new PlayerColor(30, 26, 197), new PlayerColor(151, 4, 12), new PlayerColor(14, 119, 25),
             new PlayerColor(216, 124, 0), new PlayerColor(96, 0, 147) };
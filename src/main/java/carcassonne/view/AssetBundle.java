@@ -0,0 +1,171 @@
+package carcassonne.view;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import carcassonne.settings.GameSettings;
+
+/**
+ * Bundle of all image files of the game in a single file. The bundle consists of a header, an index with the name,
+ * offset and length of every entry, and the concatenated image data. It is read with a single sequential read, either
+ * through a memory-mapped file or through a class path stream if the game is packaged. The bundle is generated from the
+ * resource folder with the main method of this class and has to be regenerated whenever an image changes.
+ * @author Timur Saglam
+ */
+public final class AssetBundle {
+    private static final int MAGIC_NUMBER = 0x43415243; // CARC
+    private static final int VERSION = 1;
+    private static final String IMAGE_FILE_TYPE = ".png";
+    private static final String CLASS_PATH_PREFIX = "/";
+    private final ByteBuffer buffer;
+    private final Map<String, Integer> offsets;
+    private final Map<String, Integer> lengths;
+
+    private AssetBundle(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        offsets = new LinkedHashMap<>();
+        lengths = new LinkedHashMap<>();
+        if (buffer.getInt() != MAGIC_NUMBER) {
+            throw new IOException("Not an asset bundle");
+        }
+        int version = buffer.getInt();
+        if (version != VERSION) {
+            throw new IOException("Unsupported asset bundle version: " + version);
+        }
+        int entries = buffer.getInt();
+        for (int entry = 0; entry < entries; entry++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            String path = GameSettings.RESSOURCE_FOLDER_PATH + new String(name, StandardCharsets.UTF_8);
+            offsets.put(path, buffer.getInt());
+            lengths.put(path, buffer.getInt());
+        }
+    }
+
+    /**
+     * Opens the asset bundle of the game. Prefers the bundle file in the resource folder, which is memory-mapped, and
+     * falls back to the bundle on the class path, which is read in one go.
+     * @return the opened bundle, or null if there is no bundle.
+     * @throws IOException if the bundle exists but can not be read.
+     */
+    public static AssetBundle open() throws IOException {
+        Path bundleFile = Paths.get(GameSettings.ASSET_BUNDLE_PATH);
+        if (Files.isRegularFile(bundleFile)) {
+            try (FileChannel channel = FileChannel.open(bundleFile, StandardOpenOption.READ)) {
+                return new AssetBundle(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+            }
+        }
+        try (InputStream stream = AssetBundle.class.getResourceAsStream(CLASS_PATH_PREFIX + GameSettings.ASSET_BUNDLE_NAME)) {
+            if (stream == null) {
+                return null;
+            }
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] chunk = new byte[1 << 16];
+            for (int read = stream.read(chunk); read != -1; read = stream.read(chunk)) {
+                bytes.write(chunk, 0, read);
+            }
+            return new AssetBundle(ByteBuffer.wrap(bytes.toByteArray()));
+        }
+    }
+
+    /**
+     * Returns the paths of all entries of the bundle, in the same format as the paths of the {@link GameSettings}.
+     * @return the unmodifiable set of paths.
+     */
+    public Set<String> getPaths() {
+        return Collections.unmodifiableSet(offsets.keySet());
+    }
+
+    /**
+     * Checks whether the bundle contains a specific entry.
+     * @param path is the path of the entry, as defined in the {@link GameSettings}.
+     * @return true if it is contained.
+     */
+    public boolean contains(String path) {
+        return offsets.containsKey(path);
+    }
+
+    /**
+     * Opens a stream on the data of a specific entry. This method is thread-safe.
+     * @param path is the path of the entry, as defined in the {@link GameSettings}.
+     * @return the stream of the entry data.
+     */
+    public InputStream openEntry(String path) {
+        Integer offset = offsets.get(path);
+        if (offset == null) {
+            throw new IllegalArgumentException("No asset bundle entry for " + path);
+        }
+        byte[] data = new byte[lengths.get(path)];
+        ByteBuffer view = buffer.duplicate(); // independent position for concurrent readers
+        view.position(offset);
+        view.get(data);
+        return new ByteArrayInputStream(data);
+    }
+
+    /**
+     * Writes a bundle of all image files of a folder.
+     * @param folder is the folder which contains the images, usually the resource folder.
+     * @param bundle is the bundle file to write.
+     * @throws IOException if a file can not be read or written.
+     */
+    public static void write(Path folder, Path bundle) throws IOException {
+        List<Path> files;
+        try (Stream<Path> stream = Files.walk(folder)) {
+            files = stream.filter(it -> it.toString().endsWith(IMAGE_FILE_TYPE)).sorted().collect(Collectors.toList());
+        }
+        List<byte[]> names = files.stream().map(it -> toName(folder, it).getBytes(StandardCharsets.UTF_8)).collect(Collectors.toList());
+        int indexSize = 3 * Integer.BYTES;
+        for (byte[] name : names) {
+            indexSize += Short.BYTES + name.length + 2 * Integer.BYTES;
+        }
+        try (DataOutputStream output = new DataOutputStream(Files.newOutputStream(bundle))) {
+            output.writeInt(MAGIC_NUMBER);
+            output.writeInt(VERSION);
+            output.writeInt(files.size());
+            int offset = indexSize;
+            for (int index = 0; index < files.size(); index++) {
+                int length = (int) Files.size(files.get(index));
+                output.writeShort(names.get(index).length);
+                output.write(names.get(index));
+                output.writeInt(offset);
+                output.writeInt(length);
+                offset += length;
+            }
+            for (Path file : files) {
+                output.write(Files.readAllBytes(file));
+            }
+        }
+    }
+
+    /**
+     * Regenerates the asset bundle of the game from the resource folder.
+     * @param args are not used.
+     * @throws IOException if the bundle can not be written.
+     */
+    public static void main(String[] args) throws IOException {
+        write(Paths.get(GameSettings.RESSOURCE_FOLDER_PATH), Paths.get(GameSettings.ASSET_BUNDLE_PATH));
+    }
+
+    // entries are named relative to the resource folder, independent of the file separator of the system.
+    private static String toName(Path folder, Path file) {
+        return folder.relativize(file).toString().replace(File.separatorChar, '/');
+    }
+}
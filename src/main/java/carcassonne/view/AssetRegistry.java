@@ -0,0 +1,130 @@
+package carcassonne.view;
+
+import java.awt.image.BufferedImage;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.imageio.ImageIO;
+import javax.swing.ImageIcon;
+
+import carcassonne.settings.GameSettings;
+
+/**
+ * Shared registry of all image assets of the game. Every image file is decoded exactly once and then shared by all
+ * classes that need it. {@link #preload()} decodes all images of the {@link AssetBundle} in parallel, assets that were
+ * not preloaded are decoded on their first request. Decoded images must not be modified, users copy them before painting.
+ * @author Timur Saglam
+ */
+public final class AssetRegistry {
+    private static final String IMAGE_FILE_TYPE = ".png";
+    private static final String LOADING_ERROR = "ERROR: Could not load image located at ";
+    private static final Map<String, BufferedImage> IMAGES = new ConcurrentHashMap<>();
+    private static final Map<String, ImageIcon> ICONS = new ConcurrentHashMap<>();
+    private static volatile AssetBundle bundle;
+
+    private AssetRegistry() {
+        // Private constructor for helper class.
+    }
+
+    /**
+     * Decodes all images of the game in parallel on a thread pool and blocks until all of them are decoded. The images
+     * are read from the {@link AssetBundle} if there is one, and from the resource folder otherwise. Should be called
+     * before the first frame is shown.
+     */
+    public static void preload() {
+        List<String> paths = findAssets();
+        int threads = Math.max(1, Math.min(paths.size(), Runtime.getRuntime().availableProcessors()));
+        ExecutorService executor = Executors.newFixedThreadPool(threads);
+        List<Callable<BufferedImage>> tasks = paths.stream().map(it -> (Callable<BufferedImage>) () -> getImage(it)).collect(Collectors.toList());
+        try {
+            executor.invokeAll(tasks);
+        } catch (InterruptedException exception) {
+            Thread.currentThread().interrupt(); // remaining images are decoded on demand
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    /**
+     * Returns the decoded image of a specific image file. Decodes it if it was not preloaded. This method is thread-safe.
+     * @param path is the path of the image file, as defined in the {@link GameSettings}.
+     * @return the decoded image, which must not be modified, or null if it could not be loaded.
+     */
+    public static BufferedImage getImage(String path) {
+        BufferedImage image = IMAGES.get(path);
+        if (image == null) {
+            image = decode(path);
+            if (image != null) {
+                BufferedImage previous = IMAGES.putIfAbsent(path, image);
+                image = previous == null ? image : previous; // another thread was faster
+            }
+        }
+        return image;
+    }
+
+    /**
+     * Returns a shared icon of a specific image file. This method is thread-safe.
+     * @param path is the path of the image file, as defined in the {@link GameSettings}.
+     * @return the icon, which must not be modified.
+     */
+    public static ImageIcon getIcon(String path) {
+        ImageIcon icon = ICONS.get(path);
+        if (icon == null) {
+            BufferedImage image = getImage(path);
+            icon = image == null ? new ImageIcon() : new ImageIcon(image);
+            ImageIcon previous = ICONS.putIfAbsent(path, icon);
+            icon = previous == null ? icon : previous;
+        }
+        return icon;
+    }
+
+    // opens the asset bundle and lists its entries, lists the images of the resource folder if there is no bundle.
+    private static List<String> findAssets() {
+        try {
+            bundle = AssetBundle.open();
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            GameMessage.showError(LOADING_ERROR + GameSettings.ASSET_BUNDLE_PATH);
+        }
+        if (bundle != null) {
+            return new ArrayList<>(bundle.getPaths());
+        }
+        try (Stream<Path> files = Files.walk(Paths.get(GameSettings.RESSOURCE_FOLDER_PATH))) {
+            return files.filter(it -> it.toString().endsWith(IMAGE_FILE_TYPE)).map(AssetRegistry::toKey).collect(Collectors.toList());
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            GameMessage.showError(LOADING_ERROR + GameSettings.RESSOURCE_FOLDER_PATH);
+            return new ArrayList<>();
+        }
+    }
+
+    private static BufferedImage decode(String path) {
+        AssetBundle assets = bundle;
+        try (InputStream stream = assets != null && assets.contains(path) ? assets.openEntry(path) : new FileInputStream(path)) {
+            return ImageIO.read(stream);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            GameMessage.showError(LOADING_ERROR + path);
+            return null;
+        }
+    }
+
+    // uses the same path format as the game settings, independent of the file separator of the system.
+    private static String toKey(Path path) {
+        return path.toString().replace(File.separatorChar, '/');
+    }
+}
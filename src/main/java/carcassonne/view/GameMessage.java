@@ -22,6 +22,15 @@ public final class GameMessage {
         return JOptionPane.showInputDialog(null, messageText, TITLE, JOptionPane.QUESTION_MESSAGE);
     }
 
+    /**
+     * Asks the user a yes or no question.
+     * @param messageText is the question.
+     * @return true if the user answered with yes.
+     */
+    public static boolean showQuestion(String messageText) {
+        return JOptionPane.showConfirmDialog(null, messageText, TITLE, JOptionPane.YES_NO_OPTION) == JOptionPane.YES_OPTION;
+    }
+
     /**
      * Shows a custom error message.
      * @param messageText is the message text.
@@ -1,51 +1,76 @@
 package carcassonne.view;
 
+import java.awt.AlphaComposite;
 import java.awt.Color;
+import java.awt.Graphics2D;
 import java.awt.image.BufferedImage;
-import java.awt.image.ColorModel;
-import java.awt.image.WritableRaster;
-import java.io.File;
-import java.io.IOException;
+import java.awt.image.DataBufferInt;
+import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
-import javax.imageio.ImageIO;
 import javax.swing.ImageIcon;
 
 import carcassonne.model.Player;
 import carcassonne.model.terrain.TerrainType;
 import carcassonne.settings.GameSettings;
+import carcassonne.settings.Notifiable;
 
 /**
- * This is the Carcassonne paint shop! It paints meeple images and tile highlights!
+ * This is the Carcassonne paint shop! It paints meeple images and tile highlights! Colored meeples are cached per
+ * terrain and color, highlights per color. The caches are cleared when the settings change. Highlights can be requested
+ * from any thread, which allows preparing them in the background.
  * @author Timur Saglam
  */
-public class PaintShop {
+public class PaintShop implements Notifiable {
     private static final int MAXIMAL_ALPHA = 255;
-    
+    private static final int ALPHA_SHIFT = 24;
+    private static final int RED_SHIFT = 16;
+    private static final int GREEN_SHIFT = 8;
+    private static final int CHANNEL_MASK = 0xFF;
+    private static final int RGB_MASK = 0xFFFFFF;
+    private static final int MAXIMAL_CACHED_COLORS = 32; // per terrain, bounds the cache when colors are picked freely
+
+    private final Map<TerrainType, Map<Integer, ImageIcon>> meepleCache; // terrain to RGB to colored meeple
+    private final Map<Integer, ImageIcon> highlightCache; // RGB to colored highlight
     private final Map<TerrainType, BufferedImage> imageMap;
     private final Map<TerrainType, BufferedImage> templateMap;
     private final BufferedImage highlightImage;
     private final BufferedImage emblemImage;
+    private final BufferedImage nullTileImage;
 
     /**
      * Basic constructor, creates base images and templates.
      */
     public PaintShop() {
+        meepleCache = new EnumMap<>(TerrainType.class);
+        highlightCache = new ConcurrentHashMap<>();
         imageMap = buildImageMap(false);
         templateMap = buildImageMap(true);
         highlightImage = loadImage(GameSettings.HIGHLIGHT_PATH);
         emblemImage = loadImage(GameSettings.EMBLEM_PATH);
+        nullTileImage = loadImage(GameSettings.NULL_TILE_PATH);
     }
 
     /**
-     * Returns a custom colored meeple.
+     * Returns a custom colored meeple. The meeple is only painted on the first request of a terrain and color
+     * combination, later requests return the cached meeple.
      * @param meepleType is the type of the meeple.
      * @param color is the custom color.
      * @return the colored meeple.
      */
     public ImageIcon getColoredMeeple(TerrainType meepleType, Color color) {
-        return paintMeeple(meepleType, color.getRGB());
+        Map<Integer, ImageIcon> coloredMeeples = meepleCache.computeIfAbsent(meepleType, key -> new HashMap<>());
+        ImageIcon meeple = coloredMeeples.get(color.getRGB());
+        if (meeple == null) {
+            if (coloredMeeples.size() >= MAXIMAL_CACHED_COLORS) {
+                coloredMeeples.clear();
+            }
+            meeple = paintMeeple(meepleType, color.getRGB());
+            coloredMeeples.put(color.getRGB(), meeple);
+        }
+        return meeple;
     }
 
     /**
@@ -64,8 +89,39 @@ public class PaintShop {
      * @return the highlighted tile.
      */
     public ImageIcon getColoredHighlight(Player player) {
-        BufferedImage tileImage = loadImage(GameSettings.NULL_TILE_PATH);
-        return colorMaskBased(tileImage, highlightImage, player.getColor());
+        return getColoredHighlight(player.getColor());
+    }
+
+    /**
+     * Returns a custom colored highlight image. The highlight is only painted on the first request of a color, later
+     * requests return the cached highlight. This method is thread-safe.
+     * @param color is the color of the highlight.
+     * @return the highlighted tile.
+     */
+    public ImageIcon getColoredHighlight(Color color) {
+        return highlightCache.computeIfAbsent(color.getRGB(), key -> colorMaskBased(nullTileImage, highlightImage, color));
+    }
+
+    /**
+     * Rotates any image by 90 degree to the right. Transposes the integer raster directly instead of using an affine
+     * transformation, which makes the rotation lossless.
+     * @param image is the original image.
+     * @return a rotated copy of the image.
+     */
+    public BufferedImage rotateRight(BufferedImage image) {
+        int width = image.getWidth();
+        int height = image.getHeight();
+        BufferedImage rotated = new BufferedImage(height, width, BufferedImage.TYPE_INT_ARGB);
+        int[] pixels = argbPixels(image);
+        int[] rotatedPixels = pixelsOf(rotated);
+        for (int y = 0; y < height; y++) {
+            int row = y * width;
+            int rotatedColumn = height - 1 - y; // the top row becomes the right column
+            for (int x = 0; x < width; x++) {
+                rotatedPixels[x * height + rotatedColumn] = pixels[row + x];
+            }
+        }
+        return rotated;
     }
 
     /**
@@ -74,18 +130,30 @@ public class PaintShop {
      * @return a copy of the image with an emblem.
      */
     public ImageIcon addEmblem(BufferedImage originalTile) {
-        BufferedImage copy = deepCopy(originalTile);
-        for (int x = 0; x < emblemImage.getWidth(); x++) {
-            for (int y = 0; y < emblemImage.getHeight(); y++) {
-                Color emblemPixel = new Color(emblemImage.getRGB(x, y), true);
-                Color imagePixel = new Color(copy.getRGB(x, y), true);
-                Color blendedColor = blend(imagePixel, emblemPixel, false);
-                copy.setRGB(x, y, blendedColor.getRGB());
+        BufferedImage copy = argbCopy(originalTile);
+        int[] pixels = pixelsOf(copy);
+        int[] emblemPixels = argbPixels(emblemImage);
+        int width = Math.min(emblemImage.getWidth(), copy.getWidth());
+        int height = Math.min(emblemImage.getHeight(), copy.getHeight());
+        for (int y = 0; y < height; y++) {
+            int row = y * copy.getWidth();
+            int emblemRow = y * emblemImage.getWidth();
+            for (int x = 0; x < width; x++) {
+                pixels[row + x] = blendOver(pixels[row + x], emblemPixels[emblemRow + x]);
             }
         }
         return new ImageIcon(copy);
     }
 
+    /**
+     * Clears the cached meeples and highlights, as the player colors might have changed.
+     */
+    @Override
+    public void notifyChange() {
+        meepleCache.clear();
+        highlightCache.clear();
+    }
+
     // prepares the base images and templates
     private Map<TerrainType, BufferedImage> buildImageMap(boolean isTemplate) {
         Map<TerrainType, BufferedImage> map = new HashMap<>();
@@ -98,68 +166,94 @@ public class PaintShop {
 
     // Colors a meeple with RGB color.
     private ImageIcon paintMeeple(TerrainType meepleType, int color) {
-        BufferedImage image = deepCopy(imageMap.get(meepleType));
-        BufferedImage template = templateMap.get(meepleType);
-        for (int x = 0; x < template.getWidth(); x++) {
-            for (int y = 0; y < template.getHeight(); y++) {
-                if (template.getRGB(x, y) == Color.BLACK.getRGB()) {
-                    image.setRGB(x, y, color);
-                }
+        BufferedImage image = argbCopy(imageMap.get(meepleType));
+        int[] pixels = pixelsOf(image);
+        int[] templatePixels = argbPixels(templateMap.get(meepleType));
+        int black = Color.BLACK.getRGB();
+        for (int i = 0; i < Math.min(pixels.length, templatePixels.length); i++) {
+            if (templatePixels[i] == black) {
+                pixels[i] = color;
             }
         }
         return new ImageIcon(image);
     }
 
     private ImageIcon colorMaskBased(BufferedImage imageToColor, BufferedImage maskImage, Color targetColor) {
-        BufferedImage image = deepCopy(imageToColor);
-        for (int x = 0; x < maskImage.getWidth(); x++) {
-            for (int y = 0; y < maskImage.getHeight(); y++) {
-                Color maskPixel = new Color(maskImage.getRGB(x, y), true);
-                Color targetPixel = new Color(targetColor.getRed(), targetColor.getGreen(), targetColor.getBlue(), maskPixel.getAlpha());
-                Color imagePixel = new Color(image.getRGB(x, y), true);
-                Color blendedColor = blend(imagePixel, targetPixel, true);
-                image.setRGB(x, y, blendedColor.getRGB());
-            }
+        BufferedImage image = argbCopy(imageToColor);
+        int[] pixels = pixelsOf(image);
+        int[] maskPixels = argbPixels(maskImage);
+        int targetRGB = targetColor.getRGB() & RGB_MASK;
+        for (int i = 0; i < Math.min(pixels.length, maskPixels.length); i++) {
+            int targetPixel = maskPixels[i] & ~RGB_MASK | targetRGB; // target color with the alpha of the mask
+            pixels[i] = blendEqually(pixels[i], targetPixel);
         }
         return new ImageIcon(image);
     }
 
     /**
-     * Blends to colors correctly based on alpha composition. Either blends both colors or applies the second on the first
-     * one.
+     * Applies the second ARGB color on the first one based on the alpha value of the second one. Uses integer math only.
      * @param first is the first color to be applied.
      * @param second is the second color to be applied.
-     * @param blendEqually applies the second on the first one of true, blends on alpha values if false.
-     * @return the blended color.
+     * @return the blended ARGB color.
      */
-    private Color blend(Color first, Color second, boolean blendEqually) {
-        double totalAlpha = blendEqually ? first.getAlpha() + second.getAlpha() : MAXIMAL_ALPHA;
-        double firstWeight = blendEqually ? first.getAlpha() : MAXIMAL_ALPHA - second.getAlpha();
-        firstWeight /= totalAlpha;
-        double secondWeight = second.getAlpha() / totalAlpha;
-        double red = firstWeight * first.getRed() + secondWeight * second.getRed();
-        double green = firstWeight * first.getGreen() + secondWeight * second.getGreen();
-        double blue = firstWeight * first.getBlue() + secondWeight * second.getBlue();
-        int alpha = Math.max(first.getAlpha(), second.getAlpha());
-        return new Color((int) red, (int) green, (int) blue, alpha);
-    }
-
-    // copies a image to avoid side effects.
-    private BufferedImage deepCopy(BufferedImage image) {
-        ColorModel model = image.getColorModel();
-        boolean isAlphaPremultiplied = model.isAlphaPremultiplied();
-        WritableRaster raster = image.copyData(null);
-        return new BufferedImage(model, raster, isAlphaPremultiplied, null);
+    private static int blendOver(int first, int second) {
+        int secondWeight = second >>> ALPHA_SHIFT;
+        int firstWeight = MAXIMAL_ALPHA - secondWeight;
+        return blend(first, second, firstWeight, secondWeight, MAXIMAL_ALPHA);
     }
 
-    private BufferedImage loadImage(String path) {
-        File file = new File(path);
-        try {
-            return ImageIO.read(file);
-        } catch (IOException exception) {
-            exception.printStackTrace();
-            GameMessage.showError("ERROR: Could not load image loacted at " + path);
-            return null;
+    /**
+     * Blends two ARGB colors equally based on their alpha values. Uses integer math only.
+     * @param first is the first color to be applied.
+     * @param second is the second color to be applied.
+     * @return the blended ARGB color.
+     */
+    private static int blendEqually(int first, int second) {
+        int firstWeight = first >>> ALPHA_SHIFT;
+        int secondWeight = second >>> ALPHA_SHIFT;
+        int totalWeight = firstWeight + secondWeight;
+        if (totalWeight == 0) {
+            return 0; // both colors are fully transparent
+        }
+        return blend(first, second, firstWeight, secondWeight, totalWeight);
+    }
+
+    // blends the color channels with weights and uses the maximal alpha value of both colors.
+    private static int blend(int first, int second, int firstWeight, int secondWeight, int totalWeight) {
+        int red = (firstWeight * (first >> RED_SHIFT & CHANNEL_MASK) + secondWeight * (second >> RED_SHIFT & CHANNEL_MASK)) / totalWeight;
+        int green = (firstWeight * (first >> GREEN_SHIFT & CHANNEL_MASK) + secondWeight * (second >> GREEN_SHIFT & CHANNEL_MASK)) / totalWeight;
+        int blue = (firstWeight * (first & CHANNEL_MASK) + secondWeight * (second & CHANNEL_MASK)) / totalWeight;
+        int alpha = Math.max(first >>> ALPHA_SHIFT, second >>> ALPHA_SHIFT);
+        return alpha << ALPHA_SHIFT | red << RED_SHIFT | green << GREEN_SHIFT | blue;
+    }
+
+    // copies a image into a new image with an integer ARGB raster to avoid side effects.
+    private BufferedImage argbCopy(BufferedImage image) {
+        BufferedImage copy = new BufferedImage(image.getWidth(), image.getHeight(), BufferedImage.TYPE_INT_ARGB);
+        if (image.getType() == BufferedImage.TYPE_INT_ARGB) {
+            System.arraycopy(pixelsOf(image), 0, pixelsOf(copy), 0, image.getWidth() * image.getHeight());
+        } else { // the source composite replaces pixels, which makes the optimized blit an exact conversion
+            Graphics2D graphics = copy.createGraphics();
+            graphics.setComposite(AlphaComposite.Src);
+            graphics.drawImage(image, 0, 0, null);
+            graphics.dispose();
         }
+        return copy;
+    }
+
+    // grants read access to all pixels of an image as ARGB values, copies only if the image is not already integer ARGB.
+    private int[] argbPixels(BufferedImage image) {
+        return pixelsOf(image.getType() == BufferedImage.TYPE_INT_ARGB ? image : argbCopy(image));
+    }
+
+    // grants direct access to the pixel data of an integer ARGB image.
+    private int[] pixelsOf(BufferedImage argbImage) {
+        return ((DataBufferInt) argbImage.getRaster().getDataBuffer()).getData();
+    }
+
+    // loads an image and converts it to integer ARGB, which allows the bulk operations to use its pixels directly.
+    private BufferedImage loadImage(String path) {
+        BufferedImage image = AssetRegistry.getImage(path);
+        return image == null ? null : argbCopy(image); // shared images are never painted on directly
     }
 }
\ No newline at end of file
@@ -0,0 +1,90 @@
+package carcassonne.view.main;
+
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+
+/**
+ * Short-lived animation on the {@link BoardPanel}. Animations are positioned in grid coordinates and are painted on top
+ * of the board in every frame until their duration has passed. While an animation is running, it can hide the static
+ * depiction of the tile or meeple it animates.
+ * @author Timur Saglam
+ */
+abstract class BoardAnimation {
+    private static final long NANOSECONDS_PER_MILLISECOND = 1000000;
+    private final long startTime;
+    private final long duration;
+
+    /**
+     * Creates the animation, which starts immediately.
+     * @param duration is the duration in milliseconds.
+     */
+    protected BoardAnimation(long duration) {
+        this.duration = duration * NANOSECONDS_PER_MILLISECOND;
+        startTime = System.nanoTime();
+    }
+
+    /**
+     * Returns the area of the board the animation paints on, which has to be repainted in every frame.
+     * @param tileSize is the current size of a tile in pixel.
+     * @return the bounds in board pixel coordinates.
+     */
+    public abstract Rectangle getBounds(int tileSize);
+
+    /**
+     * Checks whether the animation replaces the static depiction of a specific tile.
+     * @param x is the x coordinate of the tile.
+     * @param y is the y coordinate of the tile.
+     * @return true if the static tile should not be painted.
+     */
+    public boolean hidesTile(int x, int y) {
+        return false;
+    }
+
+    /**
+     * Checks whether the animation replaces the static depiction of a specific meeple.
+     * @param meepleX is the x coordinate of the meeple cell.
+     * @param meepleY is the y coordinate of the meeple cell.
+     * @return true if the static meeple should not be painted.
+     */
+    public boolean hidesMeeple(int meepleX, int meepleY) {
+        return false;
+    }
+
+    /**
+     * Checks whether the duration of the animation has passed.
+     * @param time is the current time in nanoseconds.
+     * @return true if it is finished.
+     */
+    public boolean isFinished(long time) {
+        return time - startTime >= duration;
+    }
+
+    /**
+     * Paints the current frame of the animation.
+     * @param graphics is the graphics context of the board.
+     * @param time is the current time in nanoseconds.
+     * @param tileSize is the current size of a tile in pixel.
+     */
+    public void paint(Graphics2D graphics, long time, int tileSize) {
+        float progress = Math.min(1, Math.max(0, (time - startTime) / (float) duration));
+        paint(graphics, progress, tileSize);
+    }
+
+    /**
+     * Paints the animation at a specific progress.
+     * @param graphics is the graphics context of the board.
+     * @param progress is the progress of the animation, from zero to one.
+     * @param tileSize is the current size of a tile in pixel.
+     */
+    protected abstract void paint(Graphics2D graphics, float progress, int tileSize);
+
+    /**
+     * Cubic ease out, fast at the start and slow at the end.
+     * @param progress is the linear progress, from zero to one.
+     * @return the eased progress.
+     */
+    protected static float easeOut(float progress) {
+        float remaining = 1 - progress;
+        return 1 - remaining * remaining * remaining;
+    }
+}
@@ -0,0 +1,602 @@
+package carcassonne.view.main;
+
+import java.awt.Color;
+import java.awt.Component;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.MouseWheelEvent;
+import java.awt.image.VolatileImage;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import javax.swing.ImageIcon;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+import javax.swing.Timer;
+
+import carcassonne.control.MainController;
+import carcassonne.model.Player;
+import carcassonne.model.grid.GridDirection;
+import carcassonne.model.terrain.TerrainType;
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileType;
+import carcassonne.settings.GameSettings;
+import carcassonne.view.AssetRegistry;
+import carcassonne.view.PaintShop;
+
+/**
+ * The board canvas of the main GUI. It paints the tiles, the highlights and the meeples itself instead of using a label
+ * per grid cell, and resolves mouse clicks to grid and meeple positions on its own. Changes only repaint the rectangle
+ * of the affected tile and only the cells within the clip bounds are painted, so the painting cost scales with the
+ * repainted area. The board supports multiple zoom levels, the scaled images are kept in a bounded cache. When placed
+ * in a {@link JScrollPane}, control and the mouse wheel zoom around the cursor. The board is drawn through an
+ * accelerated back buffer. Placed tiles, placed meeples and gained points are animated by a frame timer, which only
+ * runs while animations are active.
+ * @author Timur Saglam
+ */
+public class BoardPanel extends JPanel {
+    private static final long serialVersionUID = -3181398217335906226L; // generated UID
+    private static final int MEEPLE_FACTOR = 3; // Meeples per tile length.
+    private static final int ZOOM_STEP = 25; // tile size difference between zoom levels
+    private static final int CACHE_CAPACITY = 256; // scaled images
+    private static final int FRAME_DELAY = 16; // milliseconds, roughly 60 frames per second
+    private static final Color GUI_COLOR = new Color(190, 190, 190);
+    private static final String FRAME_TIME = "Last frame painted in %.2f ms";
+    private final MainController controller;
+    private final PaintShop paintShop;
+    private final ScaledImageCache imageCache;
+    private final List<BoardAnimation> animations;
+    private final Timer animationTimer;
+    private VolatileImage backBuffer;
+    private boolean animationsEnabled;
+    private long frameTime;
+    private int tileSize;
+    private final int gridWidth;
+    private final int gridHeight;
+    private final Tile[][] tiles;
+    private final boolean[][] highlights;
+    private final Player[][] meepleOwners; // per meeple cell, null if there is no meeple or preview
+    private final TerrainType[][] meepleTerrain;
+    private final ImageIcon[][] meepleImages;
+    private final boolean[][] previews;
+    private final ImageIcon defaultImage;
+    private final ImageIcon highlightImage;
+    private final Map<TerrainType, ImageIcon> previewImages;
+    private ImageIcon coloredHighlight;
+    private int hoverX; // hovered grid cell
+    private int hoverY;
+    private int hoverMeepleX; // hovered meeple cell
+    private int hoverMeepleY;
+
+    /**
+     * Creates the board canvas.
+     * @param controller is the controller of the GUI, or null for a board that only shows a round without user input.
+     * @param paintShop is the paint shop for the meeple generation.
+     * @param gridWidth is the width of the grid in tiles.
+     * @param gridHeight is the height of the grid in tiles.
+     */
+    public BoardPanel(MainController controller, PaintShop paintShop, int gridWidth, int gridHeight) {
+        this.controller = controller;
+        this.paintShop = paintShop;
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        tileSize = GameSettings.TILE_SIZE;
+        imageCache = new ScaledImageCache(CACHE_CAPACITY);
+        animations = new ArrayList<>();
+        animationTimer = new Timer(FRAME_DELAY, event -> animate());
+        animationsEnabled = true;
+        tiles = new Tile[gridWidth][gridHeight];
+        highlights = new boolean[gridWidth][gridHeight];
+        meepleOwners = new Player[gridWidth * MEEPLE_FACTOR][gridHeight * MEEPLE_FACTOR];
+        meepleTerrain = new TerrainType[gridWidth * MEEPLE_FACTOR][gridHeight * MEEPLE_FACTOR];
+        meepleImages = new ImageIcon[gridWidth * MEEPLE_FACTOR][gridHeight * MEEPLE_FACTOR];
+        previews = new boolean[gridWidth * MEEPLE_FACTOR][gridHeight * MEEPLE_FACTOR];
+        defaultImage = AssetRegistry.getIcon(GameSettings.EMPTY_TILE_PATH);
+        highlightImage = new Tile(TileType.Null).getIcon();
+        previewImages = new EnumMap<>(TerrainType.class);
+        for (TerrainType terrain : TerrainType.basicTerrain()) {
+            previewImages.put(terrain, AssetRegistry.getIcon(GameSettings.getMeeplePath(terrain, false)));
+        }
+        resetHover();
+        setBackground(GUI_COLOR);
+        setOpaque(true); // paints every pixel of its bounds, so repainting a dirty region never shows a black background
+        setPreferredSize(new Dimension(gridWidth * tileSize, gridHeight * tileSize));
+        MouseAdapter mouseAdapter = createMouseAdapter();
+        addMouseListener(mouseAdapter);
+        addMouseMotionListener(mouseAdapter);
+        addMouseWheelListener(mouseAdapter);
+    }
+
+    /**
+     * Scrolls the enclosing viewport so that the center of the board is in the center of the view.
+     */
+    public void centerView() {
+        if (getParent() instanceof JViewport) {
+            JViewport viewport = (JViewport) getParent();
+            Dimension extent = viewport.getExtentSize();
+            Point center = new Point((getPreferredSize().width - extent.width) / 2, (getPreferredSize().height - extent.height) / 2);
+            viewport.setViewPosition(clampViewPosition(center, viewport));
+        }
+    }
+
+    /**
+     * Scrolls the enclosing viewport so that a specific grid cell is in the center of the view.
+     * @param x is the x coordinate of the cell.
+     * @param y is the y coordinate of the cell.
+     */
+    public void centerOn(int x, int y) {
+        if (getParent() instanceof JViewport) {
+            JViewport viewport = (JViewport) getParent();
+            Dimension extent = viewport.getExtentSize();
+            Point position = new Point(x * tileSize + (tileSize - extent.width) / 2, y * tileSize + (tileSize - extent.height) / 2);
+            viewport.setViewPosition(clampViewPosition(position, viewport));
+        }
+    }
+
+    /**
+     * Getter for the time it took to paint the last frame. This includes painting the board into the back buffer and
+     * copying the buffer to the screen.
+     * @return the frame time in nanoseconds.
+     */
+    public long getFrameTime() {
+        return frameTime;
+    }
+
+    /**
+     * Shows or hides the frame time of the last painted frame as tool tip of the board.
+     * @param shown specifies whether the frame time is shown.
+     */
+    public void setFrameTimeShown(boolean shown) {
+        setToolTipText(shown ? FRAME_TIME : null); // registers the board at the tool tip manager
+    }
+
+    @Override
+    public String getToolTipText(MouseEvent event) {
+        return getToolTipText() == null ? null : String.format(FRAME_TIME, frameTime / 1e6);
+    }
+
+    /**
+     * Checks whether any animation is currently running.
+     * @return true if the frame timer is active.
+     */
+    public boolean isAnimating() {
+        return animationTimer.isRunning();
+    }
+
+    /**
+     * Enables or disables the animations, e.g. while restoring a whole board. Changes are shown immediately while the
+     * animations are disabled.
+     * @param enabled specifies whether changes are animated.
+     */
+    public void setAnimationsEnabled(boolean enabled) {
+        animationsEnabled = enabled;
+    }
+
+    /**
+     * Getter for the current zoom level.
+     * @return the size of a tile in pixel.
+     */
+    public int getTileSize() {
+        return tileSize;
+    }
+
+    /**
+     * Changes the zoom level by a number of steps while keeping the board point under an anchor at the same position in
+     * the view.
+     * @param steps is the number of zoom steps, positive values zoom in and negative values zoom out.
+     * @param anchor is the point on the board that stays in place, or null to use the center of the view.
+     */
+    public void zoom(int steps, Point anchor) {
+        int newTileSize = Math.max(GameSettings.MINIMAL_TILE_SIZE, Math.min(GameSettings.MAXIMAL_TILE_SIZE, tileSize + steps * ZOOM_STEP));
+        if (newTileSize == tileSize) {
+            return; // already at minimal or maximal zoom level
+        }
+        Point viewPosition = new Point();
+        Point boardAnchor = anchor;
+        JViewport viewport = getParent() instanceof JViewport ? (JViewport) getParent() : null;
+        if (viewport != null) {
+            viewPosition = viewport.getViewPosition();
+            if (boardAnchor == null) {
+                Dimension extent = viewport.getExtentSize();
+                boardAnchor = new Point(viewPosition.x + extent.width / 2, viewPosition.y + extent.height / 2);
+            }
+        }
+        int oldTileSize = tileSize;
+        tileSize = newTileSize;
+        resetHover();
+        Dimension size = new Dimension(gridWidth * tileSize, gridHeight * tileSize);
+        setPreferredSize(size);
+        setSize(size); // resize immediately, the view position depends on it
+        if (viewport != null && boardAnchor != null) {
+            int anchorX = boardAnchor.x * tileSize / oldTileSize; // anchor position after scaling
+            int anchorY = boardAnchor.y * tileSize / oldTileSize;
+            Point position = new Point(anchorX - (boardAnchor.x - viewPosition.x), anchorY - (boardAnchor.y - viewPosition.y));
+            viewport.setViewPosition(clampViewPosition(position, viewport));
+        }
+        revalidate();
+        repaint();
+    }
+
+    /**
+     * Removes all tiles, highlights and meeples from the board.
+     */
+    public void reset() {
+        for (int x = 0; x < gridWidth; x++) {
+            for (int y = 0; y < gridHeight; y++) {
+                tiles[x][y] = null;
+                highlights[x][y] = false;
+            }
+        }
+        for (int x = 0; x < gridWidth * MEEPLE_FACTOR; x++) {
+            for (int y = 0; y < gridHeight * MEEPLE_FACTOR; y++) {
+                resetMeepleCell(x, y);
+            }
+        }
+        animations.clear();
+        animationTimer.stop();
+        resetHover();
+        repaint();
+    }
+
+    /**
+     * Refreshes the images of all placed meeples to get the new colors.
+     */
+    public void refreshMeeples() {
+        for (int x = 0; x < gridWidth * MEEPLE_FACTOR; x++) {
+            for (int y = 0; y < gridHeight * MEEPLE_FACTOR; y++) {
+                if (meepleImages[x][y] != null) {
+                    meepleImages[x][y] = paintShop.getColoredMeeple(meepleTerrain[x][y], meepleOwners[x][y]);
+                }
+            }
+        }
+        repaint();
+    }
+
+    /**
+     * Shows a {@link Tile} on a specific grid cell.
+     * @param tile is the {@link Tile} that provides the image.
+     * @param x is the x coordinate.
+     * @param y is the y coordinate.
+     */
+    public void setTile(Tile tile, int x, int y) {
+        tiles[x][y] = tile;
+        addAnimation(new TileDropAnimation(tile.getIcon().getImage(), x, y));
+    }
+
+    /**
+     * Highlights a specific grid cell to indicate that it is a possible placement spot.
+     * @param x is the x coordinate.
+     * @param y is the y coordinate.
+     */
+    public void setHighlight(int x, int y) {
+        highlights[x][y] = true;
+        repaintTile(x, y);
+    }
+
+    /**
+     * Sets the colored mouseover highlight of the current player.
+     * @param coloredHighlight is the {@link ImageIcon} depicting the highlight.
+     */
+    public void setColoredHighlight(ImageIcon coloredHighlight) {
+        this.coloredHighlight = coloredHighlight;
+        repaintTile(hoverX, hoverY); // only visible on the hovered tile
+    }
+
+    /**
+     * Shows a placed meeple on a tile of the grid.
+     * @param x is the x coordinate of the tile.
+     * @param y is the y coordinate of the tile.
+     * @param position is the position on the tile where the meeple is shown.
+     * @param terrain is the terrain type, which affects the meeple type.
+     * @param owner is the {@link Player} who owns the meeple, which affects the color.
+     */
+    public void setMeeple(int x, int y, GridDirection position, TerrainType terrain, Player owner) {
+        int meepleX = position.addX(x * MEEPLE_FACTOR + 1);
+        int meepleY = position.addY(y * MEEPLE_FACTOR + 1);
+        meepleOwners[meepleX][meepleY] = owner;
+        meepleTerrain[meepleX][meepleY] = terrain;
+        meepleImages[meepleX][meepleY] = paintShop.getColoredMeeple(terrain, owner);
+        previews[meepleX][meepleY] = false;
+        repaintTile(x, y);
+        addAnimation(new MeeplePopAnimation(meepleImages[meepleX][meepleY].getImage(), meepleX, meepleY, MEEPLE_FACTOR));
+    }
+
+    /**
+     * Shows a meeple placement preview on a specific position of a tile.
+     * @param x is the x coordinate of the tile.
+     * @param y is the y coordinate of the tile.
+     * @param position is the position on the tile.
+     * @param terrain is the terrain type of the position.
+     * @param player is the {@link Player} who is currently active, which affects the color on mouseover.
+     */
+    public void setPreview(int x, int y, GridDirection position, TerrainType terrain, Player player) {
+        int meepleX = position.addX(x * MEEPLE_FACTOR + 1);
+        int meepleY = position.addY(y * MEEPLE_FACTOR + 1);
+        meepleOwners[meepleX][meepleY] = player;
+        meepleTerrain[meepleX][meepleY] = terrain;
+        previews[meepleX][meepleY] = true;
+        repaintTile(x, y);
+    }
+
+    /**
+     * Removes all meeples and meeple previews from a tile of the grid.
+     * @param x is the x coordinate of the tile.
+     * @param y is the y coordinate of the tile.
+     */
+    public void resetMeeples(int x, int y) {
+        for (int meepleY = y * MEEPLE_FACTOR; meepleY < (y + 1) * MEEPLE_FACTOR; meepleY++) {
+            for (int meepleX = x * MEEPLE_FACTOR; meepleX < (x + 1) * MEEPLE_FACTOR; meepleX++) {
+                resetMeepleCell(meepleX, meepleY);
+            }
+        }
+        repaintTile(x, y);
+    }
+
+    /**
+     * Shows points that a player gained, which rise from a tile of the grid and fade out.
+     * @param x is the x coordinate of the tile.
+     * @param y is the y coordinate of the tile.
+     * @param amount is the amount of points.
+     * @param color is the color of the player who gained the points.
+     * @param index is the index of the points on the same tile, which places multiple points below each other.
+     */
+    public void showScore(int x, int y, int amount, Color color, int index) {
+        addAnimation(new ScoreFlyoutAnimation(amount, color, x, y, index));
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        long startTime = System.nanoTime();
+        Rectangle clip = graphics.getClipBounds();
+        if (clip == null) {
+            clip = new Rectangle(0, 0, getWidth(), getHeight());
+        }
+        Rectangle visible = getVisibleRect();
+        if (visible.isEmpty() || !validateBackBuffer(visible.width, visible.height)) {
+            paintBoard((Graphics2D) graphics, clip); // no accelerated buffer available, for example when headless
+        } else {
+            do { // the content of the buffer can be lost at any time, for example when the display mode changes
+                Graphics2D bufferGraphics = backBuffer.createGraphics();
+                bufferGraphics.translate(-visible.x, -visible.y);
+                bufferGraphics.setClip(clip);
+                paintBoard(bufferGraphics, clip);
+                bufferGraphics.dispose();
+                graphics.drawImage(backBuffer, visible.x, visible.y, this); // the clip limits the copy to the dirty area
+            } while (backBuffer.contentsLost() && validateBackBuffer(visible.width, visible.height));
+        }
+        frameTime = System.nanoTime() - startTime;
+    }
+
+    private void addAnimation(BoardAnimation animation) {
+        if (!animationsEnabled) {
+            repaint(animation.getBounds(tileSize));
+            return;
+        }
+        animations.add(animation);
+        repaint(animation.getBounds(tileSize));
+        if (!animationTimer.isRunning()) {
+            animationTimer.start();
+        }
+    }
+
+    // repaints the areas of all animations, removes finished animations and stops the timer when there are none left.
+    private void animate() {
+        long time = System.nanoTime();
+        Iterator<BoardAnimation> iterator = animations.iterator();
+        while (iterator.hasNext()) {
+            BoardAnimation animation = iterator.next();
+            repaint(animation.getBounds(tileSize));
+            if (animation.isFinished(time)) {
+                iterator.remove(); // the last repaint shows the static depiction again
+            }
+        }
+        if (animations.isEmpty()) {
+            animationTimer.stop();
+        }
+    }
+
+    private void paintBoard(Graphics2D graphics, Rectangle clip) {
+        graphics.setColor(getBackground());
+        graphics.fillRect(clip.x, clip.y, clip.width, clip.height);
+        int minX = Math.max(0, clip.x / tileSize); // only paint the cells within the clip bounds
+        int minY = Math.max(0, clip.y / tileSize);
+        int maxX = Math.min(gridWidth - 1, (clip.x + clip.width) / tileSize);
+        int maxY = Math.min(gridHeight - 1, (clip.y + clip.height) / tileSize);
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                paintTile(graphics, x, y);
+            }
+        }
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                paintMeeples(graphics, x, y);
+            }
+        }
+        long time = System.nanoTime();
+        for (BoardAnimation animation : animations) {
+            if (animation.getBounds(tileSize).intersects(clip)) {
+                animation.paint(graphics, time, tileSize);
+            }
+        }
+    }
+
+    private MouseAdapter createMouseAdapter() {
+        return new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent event) {
+                int x = event.getX() / tileSize;
+                int y = event.getY() / tileSize;
+                if (!isOnGrid(x, y) || controller == null) {
+                    return;
+                }
+                int meepleX = x * MEEPLE_FACTOR + toMeepleOffset(event.getX());
+                int meepleY = y * MEEPLE_FACTOR + toMeepleOffset(event.getY());
+                if (previews[meepleX][meepleY]) {
+                    if (SwingUtilities.isLeftMouseButton(event)) {
+                        controller.requestMeeplePlacement(GridDirection.values2D()[meepleX % MEEPLE_FACTOR][meepleY % MEEPLE_FACTOR]);
+                    }
+                } else {
+                    controller.requestTilePlacement(x, y);
+                }
+            }
+
+            @Override
+            public void mouseMoved(MouseEvent event) {
+                updateHover(event.getX(), event.getY());
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent event) {
+                updateHover(event.getX(), event.getY());
+            }
+
+            @Override
+            public void mouseExited(MouseEvent event) {
+                repaintTile(hoverX, hoverY);
+                resetHover();
+            }
+
+            @Override
+            public void mouseWheelMoved(MouseWheelEvent event) {
+                if (event.isControlDown()) {
+                    zoom(-event.getWheelRotation(), event.getPoint());
+                } else { // forward to the scroll pane, which would not receive it otherwise
+                    Component scrollPane = SwingUtilities.getAncestorOfClass(JScrollPane.class, BoardPanel.this);
+                    if (scrollPane != null) {
+                        scrollPane.dispatchEvent(SwingUtilities.convertMouseEvent(BoardPanel.this, event, scrollPane));
+                    }
+                }
+            }
+        };
+    }
+
+    private Point clampViewPosition(Point position, JViewport viewport) {
+        Dimension extent = viewport.getExtentSize();
+        int x = Math.max(0, Math.min(position.x, getWidth() - extent.width));
+        int y = Math.max(0, Math.min(position.y, getHeight() - extent.height));
+        return new Point(x, y);
+    }
+
+    private boolean isMeepleAnimated(int meepleX, int meepleY) {
+        for (BoardAnimation animation : animations) {
+            if (animation.hidesMeeple(meepleX, meepleY)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isTileAnimated(int x, int y) {
+        for (BoardAnimation animation : animations) {
+            if (animation.hidesTile(x, y)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isOnGrid(int x, int y) {
+        return x >= 0 && x < gridWidth && y >= 0 && y < gridHeight;
+    }
+
+    private void paintMeeples(Graphics graphics, int x, int y) {
+        int cellSize = tileSize / MEEPLE_FACTOR;
+        for (int offsetY = 0; offsetY < MEEPLE_FACTOR; offsetY++) {
+            for (int offsetX = 0; offsetX < MEEPLE_FACTOR; offsetX++) {
+                int meepleX = x * MEEPLE_FACTOR + offsetX;
+                int meepleY = y * MEEPLE_FACTOR + offsetY;
+                ImageIcon image = isMeepleAnimated(meepleX, meepleY) ? null : meepleImages[meepleX][meepleY];
+                if (previews[meepleX][meepleY]) {
+                    boolean hovered = meepleX == hoverMeepleX && meepleY == hoverMeepleY;
+                    TerrainType terrain = meepleTerrain[meepleX][meepleY];
+                    image = hovered ? paintShop.getColoredMeeple(terrain, meepleOwners[meepleX][meepleY]) : previewImages.get(terrain);
+                }
+                if (image != null) { // scale and center the meeple in its cell:
+                    int width = image.getIconWidth() * tileSize / GameSettings.TILE_SIZE;
+                    int height = image.getIconHeight() * tileSize / GameSettings.TILE_SIZE;
+                    int imageX = x * tileSize + offsetX * cellSize + (cellSize - width) / 2;
+                    int imageY = y * tileSize + offsetY * cellSize + (cellSize - height) / 2;
+                    graphics.drawImage(imageCache.getScaledImage(image.getImage(), width, height), imageX, imageY, this);
+                }
+            }
+        }
+    }
+
+    private void paintTile(Graphics graphics, int x, int y) {
+        ImageIcon image = defaultImage;
+        if (tiles[x][y] != null && !isTileAnimated(x, y)) {
+            image = tiles[x][y].getIcon();
+        } else if (highlights[x][y]) {
+            boolean hovered = x == hoverX && y == hoverY && coloredHighlight != null;
+            image = hovered ? coloredHighlight : highlightImage;
+        }
+        graphics.drawImage(imageCache.getScaledImage(image.getImage(), tileSize, tileSize), x * tileSize, y * tileSize, this);
+    }
+
+    // only repaints the rectangle of a specific tile, the rest of the board stays untouched.
+    private void repaintTile(int x, int y) {
+        if (isOnGrid(x, y)) {
+            repaint(x * tileSize, y * tileSize, tileSize, tileSize);
+        }
+    }
+
+    // creates or recreates the back buffer if necessary, returns false if no buffer can be created.
+    private boolean validateBackBuffer(int width, int height) {
+        if (backBuffer != null && backBuffer.getWidth() == width && backBuffer.getHeight() == height
+                && backBuffer.validate(getGraphicsConfiguration()) != VolatileImage.IMAGE_INCOMPATIBLE) {
+            return true;
+        }
+        if (backBuffer != null) {
+            backBuffer.flush();
+        }
+        backBuffer = createVolatileImage(width, height);
+        return backBuffer != null;
+    }
+
+    private void resetHover() {
+        hoverX = -1;
+        hoverY = -1;
+        hoverMeepleX = -1;
+        hoverMeepleY = -1;
+    }
+
+    private void resetMeepleCell(int meepleX, int meepleY) {
+        meepleOwners[meepleX][meepleY] = null;
+        meepleTerrain[meepleX][meepleY] = null;
+        meepleImages[meepleX][meepleY] = null;
+        previews[meepleX][meepleY] = false;
+    }
+
+    // converts a pixel coordinate to the meeple cell offset within its tile.
+    private int toMeepleOffset(int coordinate) {
+        return Math.min(MEEPLE_FACTOR - 1, coordinate % tileSize / (tileSize / MEEPLE_FACTOR));
+    }
+
+    private void updateHover(int mouseX, int mouseY) {
+        int x = mouseX / tileSize;
+        int y = mouseY / tileSize;
+        if (!isOnGrid(x, y)) {
+            return;
+        }
+        int meepleX = x * MEEPLE_FACTOR + toMeepleOffset(mouseX);
+        int meepleY = y * MEEPLE_FACTOR + toMeepleOffset(mouseY);
+        if (x != hoverX || y != hoverY || meepleX != hoverMeepleX || meepleY != hoverMeepleY) {
+            repaintTile(hoverX, hoverY); // previously hovered tile
+            hoverX = x;
+            hoverY = y;
+            hoverMeepleX = meepleX;
+            hoverMeepleY = meepleY;
+            repaintTile(x, y);
+        }
+    }
+}
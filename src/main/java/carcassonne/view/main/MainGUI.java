@@ -3,16 +3,17 @@ package carcassonne.view.main;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Component;
-import java.awt.GridBagConstraints;
-import java.awt.GridBagLayout;
-import java.util.ArrayList;
-import java.util.List;
+import java.awt.Dimension;
+import java.awt.Point;
+import java.awt.Rectangle;
+import java.awt.event.ComponentAdapter;
+import java.awt.event.ComponentEvent;
 
-import javax.swing.ImageIcon;
 import javax.swing.JFrame;
 import javax.swing.JLayeredPane;
-import javax.swing.JPanel;
-import javax.swing.OverlayLayout;
+import javax.swing.JScrollPane;
+import javax.swing.SwingUtilities;
+import javax.swing.SwingWorker;
 
 import carcassonne.control.MainController;
 import carcassonne.model.Meeple;
@@ -33,21 +34,15 @@ import carcassonne.view.menubar.Scoreboard;
  */
 public class MainGUI extends JFrame implements Notifiable {
     private static final long serialVersionUID = 5684446992452298030L; // generated UID
-    private static final int MEEPLE_FACTOR = 3; // Meeples per tile length.
-    private static final Color GUI_COLOR = new Color(190, 190, 190);
-    private GridBagConstraints constraints;
+    private static final int MINIMAP_MARGIN = 20; // distance to the bottom right corner of the board view
     private final MainController controller;
     private final PaintShop paintShop;
     private MainMenuBar menuBar;
-    private final int tileSize;
     private final int gridHeight;
     private final int gridWidth;
-    private int meepleGridHeight;
-    private int meepleGridWidth;
-    private TileLabel[][] labelGrid;
-    private List<TileLabel> tileLabels;
-    private MeepleLabel[][] meepleGrid;
-    private List<MeepleLabel> meepleLabels;
+    private final BoardPanel boardPanel;
+    private final JScrollPane scrollPane;
+    private final MiniMap miniMap;
     private Player currentPlayer;
 
     /**
@@ -59,34 +54,75 @@ public class MainGUI extends JFrame implements Notifiable {
         this.controller = controller;
         SystemProperties systemProperties = new SystemProperties();
         paintShop = new PaintShop();
-        tileSize = GameSettings.TILE_SIZE;
-        gridWidth = systemProperties.getResolutionWidth() / tileSize;
-        gridHeight = systemProperties.getResolutionHeight() / tileSize;
-        JPanel tilePanel = buildTilePanel();
-        JPanel meeplePanel = buildMeeplePanel();
-        JLayeredPane layeredPane = buildLayeredPane(meeplePanel, tilePanel);
-        buildFrame(layeredPane);
+        controller.getProperties().registerNotifiable(paintShop); // before this GUI, which repaints with the new colors
+        gridWidth = systemProperties.getResolutionWidth() / GameSettings.MINIMAL_TILE_SIZE; // fits screen when zoomed out
+        gridHeight = systemProperties.getResolutionHeight() / GameSettings.MINIMAL_TILE_SIZE;
+        boardPanel = new BoardPanel(controller, paintShop, gridWidth, gridHeight);
+        scrollPane = buildScrollPane(systemProperties);
+        miniMap = new MiniMap(boardPanel, scrollPane.getViewport(), gridWidth, gridHeight);
+        buildFrame();
+        prepareHighlights();
     }
 
     /**
-     * Refreshes the meeple labels to get the new colors.
+     * Refreshes the meeples on the board and the highlights to get the new colors.
      */
     @Override
     public void notifyChange() {
-        meepleLabels.forEach(it -> it.refresh());
-        repaint();
+        prepareHighlights();
+        boardPanel.refreshMeeples();
         if (currentPlayer != null) {
             setCurrentPlayer(currentPlayer);
         }
     }
 
     /**
-     * Rebuilds the label grid and the meeple grid if the game should be restarted.
+     * Resets the board if the game should be restarted.
      */
     public void rebuildGrids() {
-        meepleLabels.forEach(it -> it.reset());
-        tileLabels.forEach(it -> it.reset());
-        repaint();
+        boardPanel.reset();
+        miniMap.reset();
+        boardPanel.centerView();
+    }
+
+    /**
+     * Checks whether a grid with specific dimensions fits onto the board of this GUI.
+     * @param width is the width of the grid in tiles.
+     * @param height is the height of the grid in tiles.
+     * @return true if the grid fits.
+     */
+    public boolean fitsGrid(int width, int height) {
+        return width <= gridWidth && height <= gridHeight;
+    }
+
+    /**
+     * Enables or disables the animations of the board, e.g. while a whole board is restored.
+     * @param enabled specifies whether changes are animated.
+     */
+    public void setAnimationsEnabled(boolean enabled) {
+        boardPanel.setAnimationsEnabled(enabled);
+    }
+
+    /**
+     * Zooms into the board by one zoom level, keeping the center of the view in place.
+     */
+    public void zoomIn() {
+        boardPanel.zoom(1, null);
+    }
+
+    /**
+     * Zooms out of the board by one zoom level, keeping the center of the view in place.
+     */
+    public void zoomOut() {
+        boardPanel.zoom(-1, null);
+    }
+
+    /**
+     * Shows or hides the time it took to paint the last frame of the board.
+     * @param shown specifies whether the frame time is shown.
+     */
+    public void setFrameTimeShown(boolean shown) {
+        boardPanel.setFrameTimeShown(shown);
     }
 
     /**
@@ -99,12 +135,7 @@ public class MainGUI extends JFrame implements Notifiable {
         if (spot == null) { // make sure meeple is placed
             throw new IllegalArgumentException("Meeple has to be placed to be removed from GUI: " + meeple);
         }
-        for (int y = 0; y < MEEPLE_FACTOR; y++) {
-            for (int x = 0; x < MEEPLE_FACTOR; x++) {
-                meepleGrid[spot.getX() * MEEPLE_FACTOR + x][spot.getY() * MEEPLE_FACTOR + y].reset();
-            }
-        }
-        repaint();
+        boardPanel.resetMeeples(spot.getX(), spot.getY());
     }
 
     /**
@@ -116,7 +147,8 @@ public class MainGUI extends JFrame implements Notifiable {
     public void setTile(Tile tile, int x, int y) {
         checkParameters(tile);
         checkCoordinates(x, y);
-        labelGrid[x][y].setTile(tile);
+        boardPanel.setTile(tile, x, y);
+        miniMap.setTile(tile, x, y);
     }
 
     /**
@@ -126,7 +158,7 @@ public class MainGUI extends JFrame implements Notifiable {
      */
     public void setHighlight(int x, int y) {
         checkCoordinates(x, y);
-        labelGrid[x][y].highlight();
+        boardPanel.setHighlight(x, y);
     }
 
     /**
@@ -138,10 +170,20 @@ public class MainGUI extends JFrame implements Notifiable {
     public void setMeeple(Tile tile, GridDirection position, Player owner) {
         checkParameters(tile, position, owner);
         GridSpot spot = tile.getGridSpot();
-        int xpos = position.addX(spot.getX() * MEEPLE_FACTOR + 1);
-        int ypos = position.addY(spot.getY() * MEEPLE_FACTOR + 1);
-        meepleGrid[xpos][ypos].setIcon(tile.getTerrain(position), owner);
-        repaint(); // This is required! Removing this will paint black background.
+        boardPanel.setMeeple(spot.getX(), spot.getY(), position, tile.getTerrain(position), owner);
+    }
+
+    /**
+     * Shows points that a player gained on a tile of the grid.
+     * @param tile is the tile where the points are shown.
+     * @param player is the player who gained the points.
+     * @param amount is the amount of points.
+     * @param index is the index of the points shown on the same tile in the same turn.
+     */
+    public void showScore(Tile tile, Player player, int amount, int index) {
+        checkParameters(tile, player);
+        GridSpot spot = tile.getGridSpot();
+        boardPanel.showScore(spot.getX(), spot.getY(), amount, player.getColor().textColor(), index);
     }
 
     /**
@@ -150,14 +192,7 @@ public class MainGUI extends JFrame implements Notifiable {
      */
     public void resetMeeplePreview(Tile tile) {
         checkParameters(tile);
-        int xBase = tile.getGridSpot().getX() * MEEPLE_FACTOR;
-        int yBase = tile.getGridSpot().getY() * MEEPLE_FACTOR;
-        for (int y = 0; y < MEEPLE_FACTOR; y++) {
-            for (int x = 0; x < MEEPLE_FACTOR; x++) {
-                meepleGrid[xBase + x][yBase + y].reset();
-            }
-        }
-        repaint(); // This is required! Removing this will paint black background.
+        boardPanel.resetMeeples(tile.getGridSpot().getX(), tile.getGridSpot().getY());
     }
 
     /**
@@ -167,27 +202,22 @@ public class MainGUI extends JFrame implements Notifiable {
      */
     public void setMeeplePreview(Tile tile, Player currentPlayer) {
         checkParameters(tile, currentPlayer);
-        int xBase = tile.getGridSpot().getX() * MEEPLE_FACTOR;
-        int yBase = tile.getGridSpot().getY() * MEEPLE_FACTOR;
-        GridDirection[][] directions = GridDirection.values2D();
-        for (int y = 0; y < MEEPLE_FACTOR; y++) {
-            for (int x = 0; x < MEEPLE_FACTOR; x++) {
-                if (tile.hasMeepleSpot(directions[x][y]) && controller.requestPlacementStatus(directions[x][y])) {
-                    meepleGrid[xBase + x][yBase + y].setPreview(tile.getTerrain(directions[x][y]), currentPlayer);
-                }
+        GridSpot spot = tile.getGridSpot();
+        for (GridDirection position : GridDirection.values()) {
+            if (tile.hasMeepleSpot(position) && controller.requestPlacementStatus(position)) {
+                boardPanel.setPreview(spot.getX(), spot.getY(), position, tile.getTerrain(position), currentPlayer);
             }
         }
-        repaint(); // This is required! Removing this will paint black background.
     }
 
     /**
-     * Notifies the the main GUI about a (new) current player. This allows the UI to adapt color schemes to the player.
+     * Notifies the the main GUI about a (new) current player. This allows the UI to adapt color schemes to the player. The
+     * highlights of all players are prepared when the settings change, which means this is usually only a lookup.
      * @param currentPlayer is the current {@link Player}.
      */
     public void setCurrentPlayer(Player currentPlayer) {
         this.currentPlayer = currentPlayer;
-        ImageIcon newHighlight = paintShop.getColoredHighlight(currentPlayer);
-        tileLabels.forEach(it -> it.setColoredHighlight(newHighlight));
+        boardPanel.setColoredHighlight(paintShop.getColoredHighlight(currentPlayer));
     }
 
     public Scoreboard getScoreboard() {
@@ -198,6 +228,13 @@ public class MainGUI extends JFrame implements Notifiable {
         menuBar.enableStart(); // TODO (MEDIUM) Find better solution.
     }
 
+    /**
+     * Sets the menu state of a running game, e.g. after a game was loaded.
+     */
+    public void setRunningMenuState() {
+        menuBar.enableAbort();
+    }
+
     /**
      * Enslaves sub user interfaces, they are minimized with this GUI.
      * @param userInterfaces are the user interfaces to enslave.
@@ -220,68 +257,56 @@ public class MainGUI extends JFrame implements Notifiable {
         }
     }
 
-    private void buildFrame(JLayeredPane layeredPane) {
-        menuBar = new MainMenuBar(controller);
+    // paints the highlights of all players in the background, the colors are read before on the event dispatch thread.
+    private void prepareHighlights() {
+        Color[] colors = new Color[GameSettings.MAXIMAL_PLAYERS];
+        for (int i = 0; i < colors.length; i++) {
+            colors[i] = controller.getProperties().getPlayerColor(i);
+        }
+        new SwingWorker<Void, Void>() {
+            @Override
+            protected Void doInBackground() {
+                for (Color color : colors) {
+                    paintShop.getColoredHighlight(color);
+                }
+                return null;
+            }
+        }.execute();
+    }
+
+    private void buildFrame() {
+        menuBar = new MainMenuBar(controller, this);
         setJMenuBar(menuBar);
         setDefaultCloseOperation(JFrame.EXIT_ON_CLOSE);
         setLayout(new BorderLayout());
-        add(layeredPane, BorderLayout.CENTER);
+        add(scrollPane, BorderLayout.CENTER);
+        getLayeredPane().add(miniMap, JLayeredPane.PALETTE_LAYER); // floats above the board
+        scrollPane.addComponentListener(new ComponentAdapter() {
+            @Override
+            public void componentResized(ComponentEvent event) {
+                placeMiniMap();
+            }
+        });
         pack();
         setLocationRelativeTo(null);
+        boardPanel.centerView();
     }
 
-    private JLayeredPane buildLayeredPane(JPanel meeplePanel, JPanel tilePanel) {
-        JLayeredPane layeredPane = new JLayeredPane();
-        layeredPane.setLayout(new OverlayLayout(layeredPane));
-        layeredPane.add(tilePanel, Integer.valueOf(0), 1);
-        layeredPane.add(meeplePanel, Integer.valueOf(0), 0);
-        return layeredPane;
-    }
-
-    private JPanel buildMeeplePanel() {
-        JPanel meeplePanel = new JPanel();
-        meeplePanel.setSize(gridWidth * tileSize, gridHeight * tileSize);
-        meeplePanel.setOpaque(false);
-        meeplePanel.setLayout(new GridBagLayout());
-        constraints = new GridBagConstraints();
-        meepleGridWidth = gridWidth * MEEPLE_FACTOR;
-        meepleGridHeight = gridHeight * MEEPLE_FACTOR;
-        constraints.weightx = 1; // evenly distributes meeple grid
-        constraints.weighty = 1;
-        meepleLabels = new ArrayList<>();
-        meepleGrid = new MeepleLabel[meepleGridWidth][meepleGridHeight]; // build array of labels.
-        for (int x = 0; x < meepleGridWidth; x++) {
-            for (int y = 0; y < meepleGridHeight; y++) {
-                meepleGrid[x][y] = new MeepleLabel(paintShop, controller, GridDirection.values2D()[x % MEEPLE_FACTOR][y % MEEPLE_FACTOR], this);
-                meepleLabels.add(meepleGrid[x][y]);
-                constraints.gridx = x;
-                constraints.gridy = y;
-                meeplePanel.add(meepleGrid[x][y].getLabel(), constraints); // add label with constraints
-            }
-        }
-        return meeplePanel;
+    // places the minimap in the bottom right corner of the visible board.
+    private void placeMiniMap() {
+        Rectangle view = scrollPane.getViewport().getBounds();
+        Point corner = SwingUtilities.convertPoint(scrollPane, view.x + view.width, view.y + view.height, getLayeredPane());
+        miniMap.setLocation(corner.x - miniMap.getWidth() - MINIMAP_MARGIN, corner.y - miniMap.getHeight() - MINIMAP_MARGIN);
     }
 
-    /*
-     * Creates the grid of labels.
-     */
-    private JPanel buildTilePanel() {
-        JPanel tilePanel = new JPanel();
-        tilePanel.setSize(gridWidth * tileSize, gridHeight * tileSize);
-        tilePanel.setBackground(GUI_COLOR);
-        tilePanel.setLayout(new GridBagLayout());
-        constraints = new GridBagConstraints();
-        tileLabels = new ArrayList<>();
-        labelGrid = new TileLabel[gridWidth][gridHeight]; // build array of labels.
-        for (int x = 0; x < gridWidth; x++) {
-            for (int y = 0; y < gridHeight; y++) {
-                labelGrid[x][y] = new TileLabel(controller, x, y);
-                tileLabels.add(labelGrid[x][y]);
-                constraints.gridx = x;
-                constraints.gridy = y;
-                tilePanel.add(labelGrid[x][y].getLabel(), constraints); // add label with constraints
-            }
-        }
-        return tilePanel;
+    // the board is larger than the screen, the scroll pane shows as many full tiles as the screen can hold.
+    private JScrollPane buildScrollPane(SystemProperties systemProperties) {
+        JScrollPane pane = new JScrollPane(boardPanel);
+        int width = systemProperties.getResolutionWidth() / GameSettings.TILE_SIZE * GameSettings.TILE_SIZE;
+        int height = systemProperties.getResolutionHeight() / GameSettings.TILE_SIZE * GameSettings.TILE_SIZE;
+        pane.setPreferredSize(new Dimension(width, height));
+        pane.getHorizontalScrollBar().setUnitIncrement(GameSettings.TILE_SIZE / 4);
+        pane.getVerticalScrollBar().setUnitIncrement(GameSettings.TILE_SIZE / 4);
+        return pane;
     }
-}
\ No newline at end of file
+}
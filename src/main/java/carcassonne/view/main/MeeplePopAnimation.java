@@ -0,0 +1,72 @@
+package carcassonne.view.main;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+
+import carcassonne.settings.GameSettings;
+
+/**
+ * Animation of a placed meeple, which pops up from its center and slightly overshoots its final size.
+ * @author Timur Saglam
+ */
+class MeeplePopAnimation extends BoardAnimation {
+    private static final long DURATION = 200; // milliseconds
+    private static final float OVERSHOOT = 1.7f; // back easing constant, results in roughly ten percent overshoot
+    private static final float MAXIMAL_SCALE = 1.1f;
+    private final Image image;
+    private final int meepleX;
+    private final int meepleY;
+    private final int meepleFactor;
+
+    /**
+     * Creates the animation.
+     * @param image is the image of the meeple in its original size.
+     * @param meepleX is the x coordinate of the meeple cell.
+     * @param meepleY is the y coordinate of the meeple cell.
+     * @param meepleFactor is the number of meeple cells per tile length.
+     */
+    MeeplePopAnimation(Image image, int meepleX, int meepleY, int meepleFactor) {
+        super(DURATION);
+        this.image = image;
+        this.meepleX = meepleX;
+        this.meepleY = meepleY;
+        this.meepleFactor = meepleFactor;
+    }
+
+    @Override
+    public Rectangle getBounds(int tileSize) {
+        Rectangle cell = getCell(tileSize);
+        int margin = (int) Math.ceil((MAXIMAL_SCALE - 1) * cell.width);
+        cell.grow(margin, margin);
+        return cell;
+    }
+
+    @Override
+    public boolean hidesMeeple(int meepleX, int meepleY) {
+        return this.meepleX == meepleX && this.meepleY == meepleY;
+    }
+
+    @Override
+    protected void paint(Graphics2D graphics, float progress, int tileSize) {
+        float shifted = progress - 1; // back ease out
+        float scale = 1 + (OVERSHOOT + 1) * shifted * shifted * shifted + OVERSHOOT * shifted * shifted;
+        Rectangle cell = getCell(tileSize);
+        int width = Math.round(image.getWidth(null) * tileSize * scale / GameSettings.TILE_SIZE);
+        int height = Math.round(image.getHeight(null) * tileSize * scale / GameSettings.TILE_SIZE);
+        if (width > 0 && height > 0) {
+            Graphics2D animationGraphics = (Graphics2D) graphics.create();
+            animationGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+            animationGraphics.drawImage(image, cell.x + (cell.width - width) / 2, cell.y + (cell.height - height) / 2, width, height, null);
+            animationGraphics.dispose();
+        }
+    }
+
+    private Rectangle getCell(int tileSize) {
+        int cellSize = tileSize / meepleFactor;
+        int tileX = meepleX / meepleFactor * tileSize;
+        int tileY = meepleY / meepleFactor * tileSize;
+        return new Rectangle(tileX + meepleX % meepleFactor * cellSize, tileY + meepleY % meepleFactor * cellSize, cellSize, cellSize);
+    }
+}
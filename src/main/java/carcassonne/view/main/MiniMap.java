@@ -0,0 +1,148 @@
+package carcassonne.view.main;
+
+import java.awt.Color;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Rectangle;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.image.BufferedImage;
+import java.awt.image.DataBufferInt;
+import java.util.Arrays;
+import java.util.EnumMap;
+import java.util.Map;
+
+import javax.swing.BorderFactory;
+import javax.swing.JPanel;
+import javax.swing.JViewport;
+import javax.swing.SwingUtilities;
+
+import carcassonne.model.tile.Tile;
+import carcassonne.model.tile.TileType;
+import carcassonne.settings.GameSettings;
+import carcassonne.view.AssetRegistry;
+
+/**
+ * Overview of the whole board. The minimap keeps an offscreen image with one pixel per grid cell, where every placement
+ * only updates the pixel of its cell with the average color of the tile type. It shows the visible part of the board and
+ * scrolls the board to the clicked position.
+ * @author Timur Saglam
+ */
+public class MiniMap extends JPanel {
+    private static final long serialVersionUID = 7361152460919316046L; // generated UID
+    private static final int CELL_SIZE = 4; // pixel per grid cell
+    private static final Color BACKGROUND_COLOR = new Color(90, 90, 90);
+    private static final Color VIEWPORT_COLOR = Color.WHITE;
+    private final BoardPanel boardPanel;
+    private final JViewport viewport;
+    private final BufferedImage image;
+    private final int[] pixels;
+    private final Map<TileType, Integer> averageColors;
+    private final int gridWidth;
+    private final int gridHeight;
+    private Rectangle shownViewport;
+
+    /**
+     * Creates the minimap.
+     * @param boardPanel is the board which is depicted.
+     * @param viewport is the viewport that shows the board.
+     * @param gridWidth is the width of the grid in tiles.
+     * @param gridHeight is the height of the grid in tiles.
+     */
+    public MiniMap(BoardPanel boardPanel, JViewport viewport, int gridWidth, int gridHeight) {
+        this.boardPanel = boardPanel;
+        this.viewport = viewport;
+        this.gridWidth = gridWidth;
+        this.gridHeight = gridHeight;
+        image = new BufferedImage(gridWidth, gridHeight, BufferedImage.TYPE_INT_RGB);
+        pixels = ((DataBufferInt) image.getRaster().getDataBuffer()).getData();
+        averageColors = new EnumMap<>(TileType.class);
+        shownViewport = new Rectangle();
+        reset();
+        setPreferredSize(new Dimension(gridWidth * CELL_SIZE, gridHeight * CELL_SIZE));
+        setSize(getPreferredSize());
+        setBorder(BorderFactory.createLineBorder(Color.BLACK));
+        viewport.addChangeListener(event -> updateViewport());
+        MouseAdapter mouseAdapter = new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent event) {
+                jumpTo(event);
+            }
+
+            @Override
+            public void mouseDragged(MouseEvent event) {
+                jumpTo(event);
+            }
+        };
+        addMouseListener(mouseAdapter);
+        addMouseMotionListener(mouseAdapter);
+    }
+
+    /**
+     * Removes all tiles from the minimap.
+     */
+    public void reset() {
+        Arrays.fill(pixels, BACKGROUND_COLOR.getRGB());
+        repaint();
+    }
+
+    /**
+     * Shows a {@link Tile} on a specific grid cell. Only the pixel of this cell is updated.
+     * @param tile is the {@link Tile}, its type determines the color.
+     * @param x is the x coordinate.
+     * @param y is the y coordinate.
+     */
+    public void setTile(Tile tile, int x, int y) {
+        if (x >= 0 && x < gridWidth && y >= 0 && y < gridHeight) {
+            pixels[y * gridWidth + x] = averageColors.computeIfAbsent(tile.getType(), this::averageColor);
+            repaint(x * CELL_SIZE, y * CELL_SIZE, CELL_SIZE, CELL_SIZE);
+        }
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        super.paintComponent(graphics);
+        graphics.drawImage(image, 0, 0, gridWidth * CELL_SIZE, gridHeight * CELL_SIZE, null); // the clip limits the copy
+        graphics.setColor(VIEWPORT_COLOR);
+        graphics.drawRect(shownViewport.x, shownViewport.y, shownViewport.width - 1, shownViewport.height - 1);
+    }
+
+    // the average color of the base image of a tile type, which is computed once per type.
+    private int averageColor(TileType type) {
+        BufferedImage tileImage = AssetRegistry.getImage(GameSettings.TILE_FOLDER_PATH + type.name() + GameSettings.TILE_FILE_TYPE);
+        if (tileImage == null) {
+            return BACKGROUND_COLOR.getRGB();
+        }
+        int width = tileImage.getWidth();
+        int height = tileImage.getHeight();
+        long red = 0;
+        long green = 0;
+        long blue = 0;
+        for (int color : tileImage.getRGB(0, 0, width, height, null, 0, width)) {
+            red += color >> 16 & 0xFF;
+            green += color >> 8 & 0xFF;
+            blue += color & 0xFF;
+        }
+        int count = width * height;
+        return new Color((int) (red / count), (int) (green / count), (int) (blue / count)).getRGB();
+    }
+
+    private void jumpTo(MouseEvent event) {
+        if (SwingUtilities.isLeftMouseButton(event)) {
+            boardPanel.centerOn(event.getX() / CELL_SIZE, event.getY() / CELL_SIZE);
+        }
+    }
+
+    // converts the visible part of the board to minimap coordinates and repaints the old and the new rectangle.
+    private void updateViewport() {
+        Rectangle view = viewport.getViewRect();
+        int tileSize = boardPanel.getTileSize();
+        Rectangle newViewport = new Rectangle(view.x * CELL_SIZE / tileSize, view.y * CELL_SIZE / tileSize, view.width * CELL_SIZE / tileSize,
+                view.height * CELL_SIZE / tileSize);
+        if (!newViewport.equals(shownViewport)) {
+            repaint(shownViewport);
+            shownViewport = newViewport;
+            repaint(shownViewport);
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package carcassonne.view.main;
+
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.RenderingHints;
+import java.awt.image.BufferedImage;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Bounded least recently used cache of pre-scaled images. Images are scaled once per zoom level and reused for every
+ * following paint call. When the cache is full, the least recently used image is dropped.
+ * @author Timur Saglam
+ */
+public class ScaledImageCache {
+    private final Map<ScaledImageKey, Image> cache;
+
+    /**
+     * Creates an empty cache.
+     * @param capacity is the maximal amount of scaled images that are kept.
+     */
+    public ScaledImageCache(int capacity) {
+        if (capacity <= 0) {
+            throw new IllegalArgumentException("Cache capacity has to be positive: " + capacity);
+        }
+        cache = new LinkedHashMap<ScaledImageKey, Image>(capacity, 0.75f, true) { // access order for LRU
+            private static final long serialVersionUID = 2071498411236452571L; // generated UID
+
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<ScaledImageKey, Image> eldest) {
+                return size() > capacity;
+            }
+        };
+    }
+
+    /**
+     * Returns a scaled version of an image. Returns the original if it already has the requested size.
+     * @param image is the original image.
+     * @param width is the requested width in pixel.
+     * @param height is the requested height in pixel.
+     * @return the scaled image.
+     */
+    public Image getScaledImage(Image image, int width, int height) {
+        if (image.getWidth(null) == width && image.getHeight(null) == height) {
+            return image;
+        }
+        ScaledImageKey key = new ScaledImageKey(image, width, height);
+        Image scaledImage = cache.get(key);
+        if (scaledImage == null) {
+            scaledImage = scale(image, width, height);
+            cache.put(key, scaledImage);
+        }
+        return scaledImage;
+    }
+
+    /**
+     * Removes all scaled images from the cache.
+     */
+    public void clear() {
+        cache.clear();
+    }
+
+    private Image scale(Image image, int width, int height) {
+        BufferedImage scaledImage = new BufferedImage(width, height, BufferedImage.TYPE_INT_ARGB);
+        Graphics2D graphics = scaledImage.createGraphics();
+        graphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        graphics.drawImage(image, 0, 0, width, height, null);
+        graphics.dispose();
+        return scaledImage;
+    }
+
+    /**
+     * Cache key which identifies the original image by identity.
+     */
+    private static final class ScaledImageKey {
+        private final Image image;
+        private final int width;
+        private final int height;
+
+        ScaledImageKey(Image image, int width, int height) {
+            this.image = image;
+            this.width = width;
+            this.height = height;
+        }
+
+        @Override
+        public boolean equals(Object other) {
+            if (!(other instanceof ScaledImageKey)) {
+                return false;
+            }
+            ScaledImageKey key = (ScaledImageKey) other;
+            return image == key.image && width == key.width && height == key.height;
+        }
+
+        @Override
+        public int hashCode() {
+            return (System.identityHashCode(image) * 31 + width) * 31 + height;
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package carcassonne.view.main;
+
+import java.awt.AlphaComposite;
+import java.awt.Color;
+import java.awt.Font;
+import java.awt.FontMetrics;
+import java.awt.Graphics2D;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+
+/**
+ * Animation of gained points, which rise from a tile and fade out.
+ * @author Timur Saglam
+ */
+class ScoreFlyoutAnimation extends BoardAnimation {
+    private static final long DURATION = 1000; // milliseconds
+    private static final int FONT_DIVISOR = 4; // font size relative to the tile size
+    private final String text;
+    private final Color color;
+    private final int x;
+    private final int y;
+    private final int index;
+
+    /**
+     * Creates the animation.
+     * @param amount is the amount of points.
+     * @param color is the color of the text.
+     * @param x is the x coordinate of the tile where the points rise from.
+     * @param y is the y coordinate of the tile where the points rise from.
+     * @param index is the index of the flyout on the same tile, flyouts with higher indices are shown lower.
+     */
+    ScoreFlyoutAnimation(int amount, Color color, int x, int y, int index) {
+        super(DURATION);
+        this.text = "+" + amount;
+        this.color = color;
+        this.x = x;
+        this.y = y;
+        this.index = index;
+    }
+
+    @Override
+    public Rectangle getBounds(int tileSize) {
+        int fontSize = tileSize / FONT_DIVISOR;
+        int top = y * tileSize - tileSize / 2 + (index - 1) * fontSize; // one line of margin above and below the text
+        return new Rectangle(x * tileSize - tileSize / 2, top, 2 * tileSize, tileSize + 3 * fontSize);
+    }
+
+    @Override
+    protected void paint(Graphics2D graphics, float progress, int tileSize) {
+        Graphics2D animationGraphics = (Graphics2D) graphics.create();
+        animationGraphics.setRenderingHint(RenderingHints.KEY_TEXT_ANTIALIASING, RenderingHints.VALUE_TEXT_ANTIALIAS_ON);
+        animationGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, 1 - progress * progress));
+        animationGraphics.setFont(animationGraphics.getFont().deriveFont(Font.BOLD, tileSize / (float) FONT_DIVISOR));
+        animationGraphics.setColor(color);
+        FontMetrics metrics = animationGraphics.getFontMetrics();
+        int textX = x * tileSize + (tileSize - metrics.stringWidth(text)) / 2;
+        int textY = y * tileSize + tileSize / 2 + (index + 1) * metrics.getAscent() - Math.round(easeOut(progress) * tileSize / 2);
+        animationGraphics.drawString(text, textX, textY);
+        animationGraphics.dispose();
+    }
+}
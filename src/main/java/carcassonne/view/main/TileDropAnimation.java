@@ -0,0 +1,55 @@
+package carcassonne.view.main;
+
+import java.awt.AlphaComposite;
+import java.awt.Graphics2D;
+import java.awt.Image;
+import java.awt.Rectangle;
+import java.awt.RenderingHints;
+
+/**
+ * Animation of a placed tile, which drops from above onto its grid cell while fading in.
+ * @author Timur Saglam
+ */
+class TileDropAnimation extends BoardAnimation {
+    private static final long DURATION = 250; // milliseconds
+    private static final float START_SCALE = 1.3f;
+    private final Image image;
+    private final int x;
+    private final int y;
+
+    /**
+     * Creates the animation.
+     * @param image is the image of the tile.
+     * @param x is the x coordinate of the tile.
+     * @param y is the y coordinate of the tile.
+     */
+    TileDropAnimation(Image image, int x, int y) {
+        super(DURATION);
+        this.image = image;
+        this.x = x;
+        this.y = y;
+    }
+
+    @Override
+    public Rectangle getBounds(int tileSize) {
+        int margin = (int) Math.ceil((START_SCALE - 1) * tileSize / 2);
+        return new Rectangle(x * tileSize - margin, y * tileSize - margin, tileSize + 2 * margin, tileSize + 2 * margin);
+    }
+
+    @Override
+    public boolean hidesTile(int x, int y) {
+        return this.x == x && this.y == y;
+    }
+
+    @Override
+    protected void paint(Graphics2D graphics, float progress, int tileSize) {
+        float eased = easeOut(progress);
+        int size = Math.round(tileSize * (START_SCALE + (1 - START_SCALE) * eased));
+        int offset = (size - tileSize) / 2;
+        Graphics2D animationGraphics = (Graphics2D) graphics.create();
+        animationGraphics.setRenderingHint(RenderingHints.KEY_INTERPOLATION, RenderingHints.VALUE_INTERPOLATION_BILINEAR);
+        animationGraphics.setComposite(AlphaComposite.getInstance(AlphaComposite.SRC_OVER, eased));
+        animationGraphics.drawImage(image, x * tileSize - offset, y * tileSize - offset, size, size, null);
+        animationGraphics.dispose();
+    }
+}
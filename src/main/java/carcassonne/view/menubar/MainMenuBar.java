@@ -3,18 +3,26 @@ package carcassonne.view.menubar;
 import java.awt.Color;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
+import java.io.File;
+import java.io.IOException;
 
 import javax.swing.ButtonGroup;
 import javax.swing.JCheckBoxMenuItem;
+import javax.swing.JFileChooser;
 import javax.swing.JLabel;
 import javax.swing.JMenu;
 import javax.swing.JMenuBar;
 import javax.swing.JMenuItem;
 import javax.swing.JRadioButtonMenuItem;
+import javax.swing.filechooser.FileNameExtensionFilter;
 
 import carcassonne.control.MainController;
+import carcassonne.persistence.GameRecording;
 import carcassonne.settings.GameSettings;
 import carcassonne.settings.Notifiable;
+import carcassonne.view.GameMessage;
+import carcassonne.view.main.MainGUI;
+import carcassonne.view.tertiary.ReplayGUI;
 
 /**
  * The menu bar for the main GUI.
@@ -26,19 +34,31 @@ public class MainMenuBar extends JMenuBar implements Notifiable {
     private static final String GAME = "Game";
     private static final String ABORT = "Abort Current Game";
     private static final String NEW_ROUND = "Start New Round";
+    private static final String SAVE = "Save Game";
+    private static final String LOAD = "Load Game";
+    private static final String REPLAY = "Open Replay";
+    private static final String REPLAY_FILE_DESCRIPTION = "Carcassonne Replays";
+    private static final String SAVE_FILE_DESCRIPTION = "Saved Carcassonne Games";
+    private static final String SAVE_FILE_EXTENSION = "csav";
     private static final String SETTINGS_OF = "Settings of ";
     private static final String SETTINGS = "Player Settings";
     private static final String PLAYERS = " Players";
     private static final String AMOUNT = "Amount of Players";
     private static final String CHAOS_MODE = "Enable Chaos Mode";
     private static final String OPTIONS = "Options";
+    private static final String VIEW = "View";
+    private static final String ZOOM_IN = "Zoom In (Ctrl + Mouse Wheel)";
+    private static final String ZOOM_OUT = "Zoom Out (Ctrl + Mouse Wheel)";
+    private static final String FRAME_TIME = "Show Frame Time";
     private static final String LARGE_SPACE = "          ";
     private final MainController controller;
+    private final MainGUI mainGUI;
     private final GameSettings settings;
     private JMenu menuGame;
     private JMenu menuOptions;
     private JMenu menuPlayers;
     private JMenu menuSettings;
+    private JMenu menuView;
     private JMenuItem itemNewRound;
     private JMenuItem itemAbortRound;
     private JMenuItem[] itemSettings;
@@ -48,15 +68,18 @@ public class MainMenuBar extends JMenuBar implements Notifiable {
      * Simple constructor creating the menu bar.
      * @param scoreboard sets the scoreboard of the menu bar.
      * @param controller sets the connection to game the controller.
+     * @param mainGUI is the main GUI, whose board view is controlled by the view menu.
      */
-    public MainMenuBar(MainController controller) { // TODO (MEDIUM) make menu bar gray
+    public MainMenuBar(MainController controller, MainGUI mainGUI) { // TODO (MEDIUM) make menu bar gray
         super();
         this.controller = controller;
+        this.mainGUI = mainGUI;
         settings = controller.getProperties();
         settings.registerNotifiable(this);
         scoreboard = new Scoreboard(settings);
         buildMenuGame();
         buildMenuOptions();
+        buildMenuView();
         add(new JLabel(LARGE_SPACE));
         add(scoreboard);
     }
@@ -92,13 +115,75 @@ public class MainMenuBar extends JMenuBar implements Notifiable {
         itemAbortRound.setEnabled(false);
         itemNewRound.addMouseListener(new NewRoundMouseAdapter(controller, itemNewRound, itemAbortRound));
         itemAbortRound.addMouseListener(new AbortRoundMouseAdapter(controller, itemNewRound, itemAbortRound));
+        JMenuItem itemSave = new JMenuItem(SAVE);
+        JMenuItem itemLoad = new JMenuItem(LOAD);
+        itemSave.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                File file = chooseFile(true);
+                if (file != null) {
+                    controller.requestSaveGame(file);
+                }
+            }
+        });
+        itemLoad.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                File file = chooseFile(false);
+                if (file != null) {
+                    controller.requestLoadGame(file);
+                }
+            }
+        });
+        JMenuItem itemReplay = new JMenuItem(REPLAY);
+        itemReplay.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                File file = chooseFile(false, REPLAY_FILE_DESCRIPTION, ReplayGUI.REPLAY_FILE_EXTENSION);
+                if (file != null) {
+                    openReplay(file);
+                }
+            }
+        });
         // build menu:
         menuGame = new JMenu(GAME);
         menuGame.add(itemNewRound);
         menuGame.add(itemAbortRound);
+        menuGame.addSeparator();
+        menuGame.add(itemSave);
+        menuGame.add(itemLoad);
+        menuGame.add(itemReplay);
         add(menuGame);
     }
 
+    // shows a file chooser for saved games, returns null if the user cancels.
+    private File chooseFile(boolean save) {
+        return chooseFile(save, SAVE_FILE_DESCRIPTION, SAVE_FILE_EXTENSION);
+    }
+
+    private File chooseFile(boolean save, String description, String extension) {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter(description, extension));
+        int result = save ? chooser.showSaveDialog(mainGUI) : chooser.showOpenDialog(mainGUI);
+        if (result != JFileChooser.APPROVE_OPTION) {
+            return null;
+        }
+        File file = chooser.getSelectedFile();
+        if (save && !file.getName().endsWith("." + extension)) {
+            file = new File(file.getPath() + "." + extension);
+        }
+        return file;
+    }
+
+    private void openReplay(File file) {
+        try {
+            ReplayGUI.showReplay(GameRecording.load(file.toPath()), controller.getProperties());
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            GameMessage.showError("ERROR: Could not open the replay " + file + ": " + exception.getMessage());
+        }
+    }
+
     private void buildMenuOptions() {
         buildMenuPlayers();
         buildMenuSettings();
@@ -117,6 +202,36 @@ public class MainMenuBar extends JMenuBar implements Notifiable {
         add(menuOptions);
     }
 
+    private void buildMenuView() {
+        JMenuItem itemZoomIn = new JMenuItem(ZOOM_IN);
+        JMenuItem itemZoomOut = new JMenuItem(ZOOM_OUT);
+        itemZoomIn.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                mainGUI.zoomIn();
+            }
+        });
+        itemZoomOut.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                mainGUI.zoomOut();
+            }
+        });
+        JCheckBoxMenuItem itemFrameTime = new JCheckBoxMenuItem(FRAME_TIME);
+        itemFrameTime.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mousePressed(MouseEvent e) {
+                mainGUI.setFrameTimeShown(!itemFrameTime.isSelected());
+            }
+        });
+        menuView = new JMenu(VIEW);
+        menuView.add(itemZoomIn);
+        menuView.add(itemZoomOut);
+        menuView.addSeparator();
+        menuView.add(itemFrameTime);
+        add(menuView);
+    }
+
     private void buildMenuPlayers() {
         menuPlayers = new JMenu(AMOUNT);
         JRadioButtonMenuItem[] itemPlayerCount = new JRadioButtonMenuItem[GameSettings.MAXIMAL_PLAYERS - 1];
@@ -144,4 +259,12 @@ public class MainMenuBar extends JMenuBar implements Notifiable {
         itemNewRound.setEnabled(true);
         itemAbortRound.setEnabled(false);
     }
+
+    /**
+     * Enables the abort menu item and disables the start menu item, e.g. when a game was loaded.
+     */
+    public void enableAbort() {
+        itemNewRound.setEnabled(false);
+        itemAbortRound.setEnabled(true);
+    }
 }
@@ -20,6 +20,8 @@ public class Scoreboard implements Notifiable {
     private static final String FONT_TYPE = "Helvetica";
     private static final String TOOL_TIP = "Settings for player ";
     private final JLabel[] scoreLabels;
+    private final int[] shownScores; // values currently shown, to skip updates without changes
+    private final int[] shownMeeples;
     private final JLabel stackSizeLabel;
     private final ArrayList<JLabel> allLabels;
     private final ArrayList<MouseListener> settingsMouseListeners;
@@ -32,6 +34,9 @@ public class Scoreboard implements Notifiable {
     public Scoreboard(GameSettings settings) { // TODO (MEDIUM) link with players?
         this.settings = settings;
         scoreLabels = new JLabel[GameSettings.MAXIMAL_PLAYERS];
+        shownScores = new int[GameSettings.MAXIMAL_PLAYERS];
+        shownMeeples = new int[GameSettings.MAXIMAL_PLAYERS];
+        resetShownValues();
         settingsMouseListeners = new ArrayList<>();
         for (int i = 0; i < scoreLabels.length; i++) {
             scoreLabels[i] = new JLabel();
@@ -76,6 +81,7 @@ public class Scoreboard implements Notifiable {
      * @param playerCount is the amount of players to show labels for.
      */
     public void rebuild(int playerCount) {
+        resetShownValues(); // new round, the labels need to be rewritten
         for (int i = 0; i < playerCount; i++) {
             scoreLabels[i].setVisible(true);
         }
@@ -83,10 +89,17 @@ public class Scoreboard implements Notifiable {
     }
 
     /**
-     * Updates a specific player label of the scoreboard.
+     * Updates a specific player label of the scoreboard. Does nothing if the score and the meeple count of the player did
+     * not change since the last update.
      * @param player is the player whose scoreboard should be updated.
      */
     public void update(Player player) {
+        int number = player.getNumber();
+        if (shownScores[number] == player.getScore() && shownMeeples[number] == player.getFreeMeeples()) {
+            return; // nothing changed
+        }
+        shownScores[number] = player.getScore();
+        shownMeeples[number] = player.getFreeMeeples();
         String playerName = player.getName();
         String text = "[" + playerName + ": " + player.getScore() + " points, " + player.getFreeMeeples() + " meeples]    ";
         scoreLabels[player.getNumber()].setText(text);
@@ -119,4 +132,8 @@ public class Scoreboard implements Notifiable {
         }
     }
 
+    private void resetShownValues() {
+        Arrays.fill(shownScores, -1);
+        Arrays.fill(shownMeeples, -1);
+    }
 }
@@ -4,13 +4,14 @@ import java.awt.GridBagConstraints;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 
-import javax.swing.ImageIcon;
 import javax.swing.JButton;
 import javax.swing.JLabel;
 
 import carcassonne.control.MainController;
 import carcassonne.model.tile.Tile;
 import carcassonne.model.tile.TileType;
+import carcassonne.settings.GameSettings;
+import carcassonne.view.AssetRegistry;
 import carcassonne.view.main.MainGUI;
 
 /**
@@ -62,9 +63,9 @@ public class RotationGUI extends SecondaryGUI {
     private void buildContent() {
         tileLabel = new JLabel(new Tile(TileType.Null).getIcon()); // Important for the UI size
         // create buttons:
-        buttonSkip = new JButton(new ImageIcon("src/main/ressources/icons/skip.png"));
-        buttonRotateLeft = new JButton(new ImageIcon("src/main/ressources/icons/left.png"));
-        buttonRotateRight = new JButton(new ImageIcon("src/main/ressources/icons/right.png"));
+        buttonSkip = new JButton(AssetRegistry.getIcon(GameSettings.ICON_FOLDER_PATH + "skip.png"));
+        buttonRotateLeft = new JButton(AssetRegistry.getIcon(GameSettings.ICON_FOLDER_PATH + "left.png"));
+        buttonRotateRight = new JButton(AssetRegistry.getIcon(GameSettings.ICON_FOLDER_PATH + "right.png"));
         // set tool tips:
         buttonSkip.setToolTipText("Don't place tile and skip turn");
         buttonRotateLeft.setToolTipText("Rotate left");
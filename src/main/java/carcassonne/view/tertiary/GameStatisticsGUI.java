@@ -3,11 +3,13 @@ package carcassonne.view.tertiary;
 import java.awt.BorderLayout;
 import java.awt.Color;
 import java.awt.Dimension;
+import java.awt.GridLayout;
 import java.awt.event.MouseAdapter;
 import java.awt.event.MouseEvent;
 
 import javax.swing.JButton;
 import javax.swing.JFrame;
+import javax.swing.JPanel;
 import javax.swing.JTable;
 import javax.swing.table.JTableHeader;
 import javax.swing.table.TableColumnModel;
@@ -16,7 +18,7 @@ import carcassonne.control.MainController;
 import carcassonne.model.Round;
 
 /**
- * A class for the game statistics GUI that shows the final scores of a round.
+ * A class for the game statistics GUI that shows the final scores of a round and their development over the turns.
  * @author Timur Saglam
  */
 public class GameStatisticsGUI extends JFrame {
@@ -27,7 +29,9 @@ public class GameStatisticsGUI extends JFrame {
     static final Color BODY_COLOR = new Color(237, 237, 237);
     private final MainController controller;
     private JButton buttonClose;
+    private JButton buttonReplay;
     private JTable table;
+    private ScoreChart chart;
 
     /**
      * Creates the GUI and extracts the data from the current round.
@@ -37,7 +41,9 @@ public class GameStatisticsGUI extends JFrame {
     public GameStatisticsGUI(MainController controller, Round round) {
         this.controller = controller;
         buildTable(round);
+        chart = new ScoreChart(round);
         buildButtonClose();
+        buildButtonReplay();
         buildFrame();
     }
 
@@ -75,11 +81,27 @@ public class GameStatisticsGUI extends JFrame {
         });
     }
 
+    private void buildButtonReplay() {
+        buttonReplay = new JButton("Replay");
+        buttonReplay.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                ReplayGUI.showReplay(controller.getRecording().copy(), controller.getProperties()); // copy survives the next round
+            }
+        });
+    }
+
     private void buildFrame() {
         setLayout(new BorderLayout());
-        add(table.getTableHeader(), BorderLayout.PAGE_START);
-        add(table, BorderLayout.CENTER);
-        add(buttonClose, BorderLayout.SOUTH);
+        JPanel tablePanel = new JPanel(new BorderLayout());
+        tablePanel.add(table.getTableHeader(), BorderLayout.PAGE_START);
+        tablePanel.add(table, BorderLayout.CENTER);
+        add(tablePanel, BorderLayout.PAGE_START);
+        add(chart, BorderLayout.CENTER);
+        JPanel buttonPanel = new JPanel(new GridLayout(1, 2));
+        buttonPanel.add(buttonReplay);
+        buttonPanel.add(buttonClose);
+        add(buttonPanel, BorderLayout.SOUTH);
         pack();
         setLocationRelativeTo(null);
         setAlwaysOnTop(true);
@@ -0,0 +1,206 @@
+package carcassonne.view.tertiary;
+
+import java.awt.BorderLayout;
+import java.awt.Dimension;
+import java.awt.event.MouseAdapter;
+import java.awt.event.MouseEvent;
+import java.awt.event.WindowAdapter;
+import java.awt.event.WindowEvent;
+import java.io.File;
+import java.io.IOException;
+
+import javax.swing.JButton;
+import javax.swing.JFileChooser;
+import javax.swing.JFrame;
+import javax.swing.JLabel;
+import javax.swing.JPanel;
+import javax.swing.JScrollPane;
+import javax.swing.JSlider;
+import javax.swing.Timer;
+import javax.swing.filechooser.FileNameExtensionFilter;
+
+import carcassonne.model.Player;
+import carcassonne.model.Round;
+import carcassonne.model.grid.Grid;
+import carcassonne.model.tile.Tile;
+import carcassonne.persistence.GameRecording;
+import carcassonne.persistence.GameReplay;
+import carcassonne.settings.GameSettings;
+import carcassonne.view.GameMessage;
+import carcassonne.view.PaintShop;
+import carcassonne.view.main.BoardPanel;
+
+/**
+ * A class for the replay GUI, which shows a recorded round on a board and allows to jump to any turn with a slider. The
+ * board is only updated once the replay reached the selected turn.
+ * @author Timur Saglam
+ */
+public class ReplayGUI extends JFrame {
+    /**
+     * The file extension of saved recordings.
+     */
+    public static final String REPLAY_FILE_EXTENSION = "crec";
+    private static final long serialVersionUID = -2350918237617302755L; // generated UID
+    private static final int PLAY_DELAY = 500; // milliseconds per turn
+    private static final Dimension BOARD_SIZE = new Dimension(1000, 700);
+    private final GameReplay replay;
+    private final GameRecording recording;
+    private final BoardPanel boardPanel;
+    private final JSlider slider;
+    private final JLabel turnLabel;
+    private final Timer playTimer;
+    private JButton buttonPlay;
+    private int shownTurn;
+
+    /**
+     * Creates and shows the GUI at the first turn of a replay.
+     * @param replay is the replay to show.
+     * @param recording is the recording of the replay, which can be saved from this GUI.
+     */
+    public ReplayGUI(GameReplay replay, GameRecording recording) {
+        super("Replay");
+        this.replay = replay;
+        this.recording = recording;
+        Grid grid = replay.getRound().getGrid();
+        boardPanel = new BoardPanel(null, new PaintShop(), grid.getWidth(), grid.getHeight());
+        boardPanel.setAnimationsEnabled(false);
+        slider = new JSlider(0, replay.getTurnCount(), 0);
+        slider.addChangeListener(event -> showTurn(slider.getValue())); // seeks on every change, which is fast enough
+        turnLabel = new JLabel();
+        playTimer = new Timer(PLAY_DELAY, event -> playNextTurn());
+        shownTurn = -1;
+        buildFrame();
+        showTurn(0);
+        boardPanel.centerOn(grid.getFoundation().getX(), grid.getFoundation().getY());
+    }
+
+    /**
+     * Opens a replay GUI for a recording. Shows an error message if the recording can not be replayed.
+     * @param recording is the recording, which must not change while it is replayed.
+     * @param settings are the {@link GameSettings} for the players of the round.
+     */
+    public static void showReplay(GameRecording recording, GameSettings settings) {
+        try {
+            new ReplayGUI(new GameReplay(recording, settings), recording);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            GameMessage.showError("ERROR: Could not replay the game: " + exception.getMessage());
+        }
+    }
+
+    private void buildFrame() {
+        setLayout(new BorderLayout());
+        JScrollPane scrollPane = new JScrollPane(boardPanel);
+        scrollPane.setPreferredSize(BOARD_SIZE);
+        add(scrollPane, BorderLayout.CENTER);
+        JPanel controlPanel = new JPanel();
+        controlPanel.add(createButton("<", () -> slider.setValue(slider.getValue() - 1)));
+        buttonPlay = createButton("Play", this::togglePlayback);
+        controlPanel.add(buttonPlay);
+        controlPanel.add(createButton(">", () -> slider.setValue(slider.getValue() + 1)));
+        controlPanel.add(slider);
+        controlPanel.add(turnLabel);
+        controlPanel.add(createButton("Save Replay", this::saveRecording));
+        add(controlPanel, BorderLayout.SOUTH);
+        addWindowListener(new WindowAdapter() {
+            @Override
+            public void windowClosed(WindowEvent event) {
+                playTimer.stop();
+            }
+        });
+        setDefaultCloseOperation(DISPOSE_ON_CLOSE);
+        pack();
+        setLocationRelativeTo(null);
+        setVisible(true);
+    }
+
+    private JButton createButton(String text, Runnable action) {
+        JButton button = new JButton(text);
+        button.addMouseListener(new MouseAdapter() {
+            @Override
+            public void mouseClicked(MouseEvent e) {
+                action.run();
+            }
+        });
+        return button;
+    }
+
+    private void togglePlayback() {
+        if (playTimer.isRunning()) {
+            stopPlayback();
+        } else {
+            if (slider.getValue() == slider.getMaximum()) {
+                slider.setValue(0); // restart
+            }
+            buttonPlay.setText("Pause");
+            playTimer.start();
+        }
+    }
+
+    private void stopPlayback() {
+        playTimer.stop();
+        buttonPlay.setText("Play");
+    }
+
+    private void playNextTurn() {
+        if (slider.getValue() < slider.getMaximum()) {
+            slider.setValue(slider.getValue() + 1);
+        } else {
+            stopPlayback();
+        }
+    }
+
+    // replays the round up to the turn without touching the board, then shows the whole board at once.
+    private void showTurn(int turn) {
+        if (turn == shownTurn) {
+            return;
+        }
+        Round round;
+        try {
+            round = replay.seek(turn);
+        } catch (IOException exception) {
+            exception.printStackTrace();
+            stopPlayback();
+            GameMessage.showError("ERROR: Could not replay turn " + turn + ": " + exception.getMessage());
+            return;
+        }
+        boardPanel.reset();
+        Grid grid = round.getGrid();
+        for (int x = 0; x < grid.getWidth(); x++) {
+            for (int y = 0; y < grid.getHeight(); y++) {
+                Tile tile = grid.getSpot(x, y).getTile();
+                if (tile != null) {
+                    boardPanel.setTile(tile, x, y);
+                    if (tile.hasMeeple()) {
+                        Player owner = tile.getMeeple().getOwner();
+                        boardPanel.setMeeple(x, y, tile.getMeeple().getPosition(), tile.getTerrain(tile.getMeeple().getPosition()), owner);
+                    }
+                }
+            }
+        }
+        StringBuilder text = new StringBuilder("Turn " + turn + " of " + replay.getTurnCount() + " ");
+        for (int number = 0; number < round.getPlayerCount(); number++) {
+            Player player = round.getPlayer(number);
+            text.append(" " + player.getName() + ": " + player.getScore());
+        }
+        turnLabel.setText(text.toString());
+        shownTurn = turn;
+    }
+
+    private void saveRecording() {
+        JFileChooser chooser = new JFileChooser();
+        chooser.setFileFilter(new FileNameExtensionFilter("Carcassonne Replays", REPLAY_FILE_EXTENSION));
+        if (chooser.showSaveDialog(this) == JFileChooser.APPROVE_OPTION) {
+            File file = chooser.getSelectedFile();
+            if (!file.getName().endsWith("." + REPLAY_FILE_EXTENSION)) {
+                file = new File(file.getPath() + "." + REPLAY_FILE_EXTENSION);
+            }
+            try {
+                recording.save(file.toPath());
+            } catch (IOException exception) {
+                exception.printStackTrace();
+                GameMessage.showError("ERROR: Could not save the replay to " + file + ": " + exception.getMessage());
+            }
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package carcassonne.view.tertiary;
+
+import java.awt.BasicStroke;
+import java.awt.Dimension;
+import java.awt.Graphics;
+import java.awt.Graphics2D;
+import java.awt.RenderingHints;
+
+import javax.swing.JPanel;
+
+import carcassonne.model.Round;
+import carcassonne.model.ScoreLedger;
+
+/**
+ * Chart that depicts the score of every player over the turns of a round. It reads the cumulative scores from the
+ * {@link ScoreLedger} of the round.
+ * @author Timur Saglam
+ */
+public class ScoreChart extends JPanel {
+    private static final long serialVersionUID = -1930873560385405478L; // generated UID
+    private static final int HEIGHT = 150;
+    private static final int WIDTH = 400;
+    private static final int MARGIN = 10;
+    private static final float LINE_WIDTH = 2;
+    private final Round round;
+
+    /**
+     * Creates the chart.
+     * @param round is the round which is depicted in the chart.
+     */
+    ScoreChart(Round round) {
+        this.round = round;
+        setBackground(GameStatisticsGUI.BODY_COLOR);
+        setPreferredSize(new Dimension(WIDTH, HEIGHT));
+        setToolTipText("Score of every player over the turns of the round");
+    }
+
+    @Override
+    protected void paintComponent(Graphics graphics) {
+        super.paintComponent(graphics);
+        Graphics2D graphics2D = (Graphics2D) graphics;
+        graphics2D.setRenderingHint(RenderingHints.KEY_ANTIALIASING, RenderingHints.VALUE_ANTIALIAS_ON);
+        graphics2D.setStroke(new BasicStroke(LINE_WIDTH));
+        ScoreLedger ledger = round.getScoreLedger();
+        int turns = ledger.getTurn();
+        int maximalScore = 1; // avoids division by zero
+        for (int player = 0; player < round.getPlayerCount(); player++) {
+            maximalScore = Math.max(maximalScore, ledger.getScore(player, turns));
+        }
+        int width = getWidth() - 2 * MARGIN;
+        int height = getHeight() - 2 * MARGIN;
+        graphics2D.setColor(GameStatisticsGUI.HEADER_COLOR);
+        graphics2D.drawLine(MARGIN, MARGIN + height, MARGIN + width, MARGIN + height); // x axis
+        for (int player = 0; player < round.getPlayerCount(); player++) {
+            graphics2D.setColor(round.getPlayer(player).getColor().textColor());
+            int lastX = MARGIN;
+            int lastY = MARGIN + height;
+            for (int turn = 1; turn <= turns; turn++) {
+                int x = MARGIN + turn * width / turns;
+                int y = MARGIN + height - ledger.getScore(player, turn) * height / maximalScore;
+                graphics2D.drawLine(lastX, lastY, x, y);
+                lastX = x;
+                lastY = y;
+            }
+        }
+    }
+}